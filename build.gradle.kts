@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.10-SNAPSHOT"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.yuuki.demo"
@@ -10,7 +11,7 @@ description = "concurrency control test"
 
 java {
 	toolchain {
-		languageVersion = JavaLanguageVersion.of(17)
+		languageVersion = JavaLanguageVersion.of(21)
 	}
 }
 
@@ -38,13 +39,65 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-data-redis")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("org.hdrhistogram:HdrHistogram:2.2.2")
 
 	runtimeOnly("com.mysql:mysql-connector-j")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	// JMH 벤치마크 (src/jmh) 는 H2 메모리 DB 로 실행
+	jmhCompileOnly("org.projectlombok:lombok")
+	jmhAnnotationProcessor("org.projectlombok:lombok")
+	jmhRuntimeOnly("com.h2database:h2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+// 성능 측정 테스트 (@Tag("benchmark")) 는 별도 태스크로 실행
+tasks.register<Test>("benchmark") {
+	description = "Runs benchmark tests."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	// 가상 스레드가 캐리어 스레드에 고정(pinning)되면 스택 출력
+	jvmArgs("-Djdk.tracePinnedThreads=short")
+}
+
+// 실행 중인 서버에 발급 요청 부하 생성 (./gradlew loadGen -PloadGenArgs="--rate=2000 --strategies=pessimistic,conditional")
+tasks.register<JavaExec>("loadGen") {
+	description = "Drives open-loop issue traffic against a running server."
+	group = "application"
+	classpath = sourceSets.main.get().runtimeClasspath
+	mainClass = "com.yuuki.demo.loadgen.LoadGenerator"
+	args = providers.gradleProperty("loadGenArgs").map { it.trim().split(Regex("\\s+")) }.getOrElse(emptyList())
+}
+
+// 발급 전략 JMH 벤치마크 (./gradlew jmh)
+// 스레드 수와 파라미터는 -Pjmh.threads=64 -Pjmh.strategy=pessimistic,optimistic -Pjmh.stock=1000 -Pjmh.duplicateRatio=0.5
+jmh {
+	jmhVersion = "1.37"
+	warmupIterations = 2
+	iterations = 5
+	fork = 1
+	threads = providers.gradleProperty("jmh.threads").map { it.toInt() }.orElse(16)
+	resultFormat = "JSON"
+	listOf("strategy", "stock", "duplicateRatio").forEach { name ->
+		providers.gradleProperty("jmh.$name").orNull?.let { values ->
+			benchmarkParameters.put(name, objects.listProperty<String>().value(values.split(",")))
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.yuuki.demo.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveCouponApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveCouponApplication.class, args);
+    }
+}
@@ -0,0 +1,65 @@
+package com.yuuki.demo.reactive.controller;
+
+import com.yuuki.demo.reactive.dto.CouponIssueRequest;
+import com.yuuki.demo.reactive.dto.CouponIssueResponse;
+import com.yuuki.demo.reactive.dto.CouponResponse;
+import com.yuuki.demo.reactive.repository.ReactiveCouponRepository;
+import com.yuuki.demo.reactive.service.ReactiveCouponService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * 루트 프로젝트 CouponController 와 같은 경로 / 같은 요청, 응답 형식
+ * (부하 생성기에서 --base-url 만 바꿔 같은 트래픽을 보낼 수 있음)
+ */
+@RestController
+@RequestMapping("/api/coupons")
+@RequiredArgsConstructor
+public class ReactiveCouponController {
+
+    private final ReactiveCouponRepository couponRepository;
+    private final ReactiveCouponService couponService;
+
+    /**
+     * 쿠폰 생성
+     */
+    @PostMapping
+    public Mono<ResponseEntity<CouponResponse>> createCoupon(
+            @RequestParam String name,
+            @RequestParam Integer quantity) {
+        return couponRepository.save(name, quantity, LocalDateTime.now())
+                .map(id -> ResponseEntity.ok(CouponResponse.of(id, name, quantity, 0)));
+    }
+
+    /**
+     * 쿠폰 조회
+     */
+    @GetMapping("/{couponId}")
+    public Mono<ResponseEntity<CouponResponse>> getCoupon(@PathVariable Long couponId) {
+        return couponRepository.findById(couponId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 조건부 UPDATE 방식 쿠폰 발급
+     */
+    @PostMapping("/conditional/issue")
+    public Mono<ResponseEntity<CouponIssueResponse>> issueCouponConditional(@RequestBody CouponIssueRequest request) {
+        return couponService.issueCoupon(request.getCouponId(), request.getUserId())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * 조건부 UPDATE 방식 쿠폰 발급 (발급 이력 먼저 저장)
+     */
+    @PostMapping("/conditional/insert-first/issue")
+    public Mono<ResponseEntity<CouponIssueResponse>> issueCouponInsertFirst(@RequestBody CouponIssueRequest request) {
+        return couponService.issueCouponInsertFirst(request.getCouponId(), request.getUserId())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,13 @@
+package com.yuuki.demo.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponIssueRequest {
+    private Long couponId;
+    private Long userId;
+}
@@ -0,0 +1,48 @@
+package com.yuuki.demo.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 루트 프로젝트의 발급 응답과 같은 JSON 형식 (부하 생성기가 같은 기준으로 결과를 분류)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponIssueResponse {
+
+    private static final String SOLD_OUT_MESSAGE = "쿠폰이 모두 발급되었습니다.";
+    private static final String DUPLICATE_MESSAGE = "이미 발급받은 쿠폰입니다.";
+
+    private boolean success;
+    private String message;
+    private Long couponIssueId;
+    private Integer remainingQuantity;
+
+
+    public static CouponIssueResponse success(Long couponIssueId, Integer remainingQuantity) {
+        return new CouponIssueResponse(true, "쿠폰 발급 성공", couponIssueId, remainingQuantity);
+    }
+
+    public static CouponIssueResponse fail(String message) {
+        return new CouponIssueResponse(false, message, null, null);
+    }
+
+    public static CouponIssueResponse soldOut() {
+        return new CouponIssueResponse(false, SOLD_OUT_MESSAGE, null, 0);
+    }
+
+    public static CouponIssueResponse duplicate() {
+        return new CouponIssueResponse(false, DUPLICATE_MESSAGE, null, null);
+    }
+
+    /**
+     * 이미 발급받은 사용자라서 실패했는지 여부
+     */
+    @JsonIgnore
+    public boolean isDuplicate() {
+        return !success && DUPLICATE_MESSAGE.equals(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.yuuki.demo.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponResponse {
+    private Long id;
+    private String name;
+    private Integer totalQuantity;
+    private Integer issuedQuantity;
+    private Integer remainingQuantity;
+
+    public static CouponResponse of(Long id, String name, int totalQuantity, int issuedQuantity) {
+        return new CouponResponse(id, name, totalQuantity, issuedQuantity, totalQuantity - issuedQuantity);
+    }
+}
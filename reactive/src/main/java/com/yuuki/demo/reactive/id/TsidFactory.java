@@ -0,0 +1,63 @@
+package com.yuuki.demo.reactive.id;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순서 ID(TSID) 생성기
+ *
+ * 64비트 구성: 부호(1) + 타임스탬프 밀리초(41) + 노드(10) + 카운터(12)
+ * - 같은 밀리초 안에서는 카운터 증가, 카운터가 넘치면 다음 밀리초를 미리 사용
+ * - 시계가 뒤로 가더라도 마지막 타임스탬프를 기준으로 계속 증가
+ * - 노드 번호는 coupon.node-id 시스템 프로퍼티 또는 COUPON_NODE_ID 환경 변수 (없으면 임의 값)
+ *
+ * 루트 프로젝트(domain.id.TsidFactory)와 같은 규칙 (같은 coupon_issue 테이블에 저장하므로 ID 형식을 맞춤)
+ */
+public final class TsidFactory {
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private static final long NODE = resolveNode();
+
+    /**
+     * 상위 비트: 타임스탬프, 하위 COUNTER_BITS 비트: 카운터
+     */
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private TsidFactory() {
+    }
+
+    public static long next() {
+        long now = System.currentTimeMillis() - EPOCH;
+        while (true) {
+            long prev = STATE.get();
+            long prevTime = prev >>> COUNTER_BITS;
+            long next;
+            if (now > prevTime) {
+                next = now << COUNTER_BITS;
+            } else if ((prev & COUNTER_MASK) < COUNTER_MASK) {
+                next = prev + 1;
+            } else {
+                next = (prevTime + 1) << COUNTER_BITS;
+            }
+
+            if (STATE.compareAndSet(prev, next)) {
+                long time = next >>> COUNTER_BITS;
+                return (time << (NODE_BITS + COUNTER_BITS)) | (NODE << COUNTER_BITS) | (next & COUNTER_MASK);
+            }
+        }
+    }
+
+    private static long resolveNode() {
+        String node = System.getProperty("coupon.node-id", System.getenv("COUPON_NODE_ID"));
+        if (node == null || node.isBlank()) {
+            return ThreadLocalRandom.current().nextLong(NODE_MASK + 1);
+        }
+        return Long.parseLong(node.trim()) & NODE_MASK;
+    }
+}
@@ -0,0 +1,90 @@
+package com.yuuki.demo.reactive.repository;
+
+import com.yuuki.demo.reactive.dto.CouponResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * coupon / coupon_issue 테이블 접근 (R2DBC)
+ *
+ * 루트 프로젝트의 CouponRepository / CouponIssueRepository 쿼리를 DatabaseClient 로 옮긴 것
+ * 커넥션을 기다리거나 쿼리 결과를 기다리는 동안 스레드를 점유하지 않음
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCouponRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> save(String name, int totalQuantity, LocalDateTime now) {
+        return databaseClient.sql("INSERT INTO coupon (name, total_quantity, issued_quantity, version, created_at, updated_at) " +
+                        "VALUES (:name, :totalQuantity, 0, 0, :now, :now)")
+                .bind("name", name)
+                .bind("totalQuantity", totalQuantity)
+                .bind("now", now)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Mono<CouponResponse> findById(Long id) {
+        return databaseClient.sql("SELECT id, name, total_quantity, issued_quantity FROM coupon WHERE id = :id")
+                .bind("id", id)
+                .map(row -> CouponResponse.of(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("total_quantity", Integer.class),
+                        row.get("issued_quantity", Integer.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM coupon WHERE id = :id")
+                .bind("id", id)
+                .map(row -> 1)
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * 재고가 남아 있을 때만 발급 수량 증가
+     * 루트 서버에서 버킷으로 나눈 수량(sharded_quantity)은 재고에서 제외
+     *
+     * @return 반영된 행 수 (0 이면 재고 없음 또는 쿠폰 없음)
+     */
+    public Mono<Long> increaseIssuedQuantityIfAvailable(Long id, LocalDateTime now) {
+        return databaseClient.sql("UPDATE coupon SET issued_quantity = issued_quantity + 1, " +
+                        "version = version + 1, updated_at = :now " +
+                        "WHERE id = :id AND issued_quantity + sharded_quantity < total_quantity")
+                .bind("id", id)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Boolean> existsIssue(Long couponId, Long userId) {
+        return databaseClient.sql("SELECT 1 FROM coupon_issue WHERE coupon_id = :couponId AND user_id = :userId")
+                .bind("couponId", couponId)
+                .bind("userId", userId)
+                .map(row -> 1)
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * 발급 이력 저장 (같은 사용자가 이미 있으면 idx_coupon_user 유니크 인덱스 위반)
+     */
+    public Mono<Void> insertIssue(Long id, Long couponId, Long userId, LocalDateTime issuedAt) {
+        return databaseClient.sql("INSERT INTO coupon_issue (id, coupon_id, user_id, issued_at) " +
+                        "VALUES (:id, :couponId, :userId, :issuedAt)")
+                .bind("id", id)
+                .bind("couponId", couponId)
+                .bind("userId", userId)
+                .bind("issuedAt", issuedAt)
+                .then();
+    }
+}
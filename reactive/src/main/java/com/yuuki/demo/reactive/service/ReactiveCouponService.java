@@ -0,0 +1,104 @@
+package com.yuuki.demo.reactive.service;
+
+import com.yuuki.demo.reactive.dto.CouponIssueResponse;
+import com.yuuki.demo.reactive.id.TsidFactory;
+import com.yuuki.demo.reactive.repository.ReactiveCouponRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조건부 UPDATE를 사용한 동시성 제어 (WebFlux + R2DBC)
+ *
+ * 특징:
+ * - 루트 프로젝트 CouponServiceConditional 과 같은 쿼리 / 같은 판단 순서
+ * - 요청마다 스레드를 배정하지 않고 이벤트 루프 스레드 몇 개가 모든 요청의 I/O 완료를 이어서 처리
+ * - 트랜잭션은 TransactionalOperator 로 Reactor 구독 컨텍스트에 묶음 (ThreadLocal 사용 안 함)
+ * - 남은 수량을 다시 조회하지 않음 (응답의 remainingQuantity 는 비어 있음)
+ *
+ * 장점:
+ * - 동시 연결 수가 스레드 수에 묶이지 않음 (수천 연결에서도 스레드 / 스택 메모리 일정)
+ * - DB 응답을 기다리는 동안 스레드가 놀지 않음
+ *
+ * 단점:
+ * - 병목인 쿠폰 행 락과 커넥션 풀 크기는 그대로 (DB 처리량 이상으로 빨라지지 않음)
+ * - 블로킹 호출이 하나라도 섞이면 이벤트 루프 전체가 멈춤
+ * - 스택 트레이스 / 디버깅이 어려움
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCouponService {
+
+    private final ReactiveCouponRepository couponRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * 중복 확인 후 조건부 UPDATE
+     *
+     * 중복 확인과 INSERT 사이에 같은 사용자의 요청이 끼어들면 유니크 인덱스 위반으로 롤백되므로 중복으로 응답
+     */
+    public Mono<CouponIssueResponse> issueCoupon(Long couponId, Long userId) {
+        return couponRepository.existsIssue(couponId, userId)
+                .flatMap(exists -> {
+
+                    // 1. 이미 발급받은 사용자인지 확인
+                    if (exists) {
+                        return Mono.just(CouponIssueResponse.duplicate());
+                    }
+
+                    // 2. 조건부 UPDATE로 재고 확인 및 차감
+                    return couponRepository.increaseIssuedQuantityIfAvailable(couponId, LocalDateTime.now())
+                            .flatMap(updated -> {
+                                if (updated == 0) {
+                                    return soldOutOrNotFound(couponId);
+                                }
+
+                                // 3. 쿠폰 발급 이력 저장
+                                long couponIssueId = TsidFactory.next();
+                                return couponRepository.insertIssue(couponIssueId, couponId, userId, LocalDateTime.now())
+                                        .thenReturn(CouponIssueResponse.success(couponIssueId, null));
+                            });
+                })
+                .as(transactionalOperator::transactional)
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(CouponIssueResponse.duplicate()));
+    }
+
+    /**
+     * 발급 이력을 먼저 저장하는 조건부 UPDATE 발급 (insert-first)
+     *
+     * 중복 확인 쿼리 대신 idx_coupon_user 유니크 인덱스로 중복을 걸러내고,
+     * 재고가 없으면 트랜잭션을 롤백하여 저장한 발급 이력도 취소
+     */
+    public Mono<CouponIssueResponse> issueCouponInsertFirst(Long couponId, Long userId) {
+        return transactionalOperator.execute(status -> {
+                    long couponIssueId = TsidFactory.next();
+
+                    // 1. 쿠폰 발급 이력 저장 (중복이면 유니크 인덱스 위반)
+                    return couponRepository.insertIssue(couponIssueId, couponId, userId, LocalDateTime.now())
+
+                            // 2. 조건부 UPDATE로 재고 확인 및 차감
+                            .then(couponRepository.increaseIssuedQuantityIfAvailable(couponId, LocalDateTime.now()))
+                            .flatMap(updated -> {
+                                if (updated == 0) {
+                                    return soldOutOrNotFound(couponId)
+                                            .doOnNext(response -> status.setRollbackOnly());
+                                }
+                                return Mono.just(CouponIssueResponse.success(couponIssueId, null));
+                            });
+                })
+                .single()
+                // coupon_issue 의 유니크 제약은 idx_coupon_user 뿐 (ID는 TSID)
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(CouponIssueResponse.duplicate()));
+    }
+
+    private Mono<CouponIssueResponse> soldOutOrNotFound(Long couponId) {
+        return couponRepository.existsById(couponId)
+                .flatMap(exists -> exists
+                        ? Mono.just(CouponIssueResponse.soldOut())
+                        : Mono.error(new IllegalArgumentException("존재하지 않는 쿠폰입니다.")));
+    }
+}
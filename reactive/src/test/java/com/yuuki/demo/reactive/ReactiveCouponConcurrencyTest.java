@@ -0,0 +1,96 @@
+package com.yuuki.demo.reactive;
+
+import com.yuuki.demo.reactive.dto.CouponIssueResponse;
+import com.yuuki.demo.reactive.dto.CouponResponse;
+import com.yuuki.demo.reactive.repository.ReactiveCouponRepository;
+import com.yuuki.demo.reactive.service.ReactiveCouponService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+class ReactiveCouponConcurrencyTest {
+
+    @Autowired
+    private ReactiveCouponRepository couponRepository;
+
+    @Autowired
+    private ReactiveCouponService couponService;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Long couponId;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트용 쿠폰 생성 (100개 한정)
+        couponId = couponRepository.save("선착순 100명 할인쿠폰", 100, LocalDateTime.now()).block();
+        log.info("테스트 쿠폰 생성 완료 - id: {}", couponId);
+    }
+
+    @AfterEach
+    void after() {
+        databaseClient.sql("DELETE FROM coupon_issue").then().block();
+        databaseClient.sql("DELETE FROM coupon").then().block();
+        log.info("테스트 데이터 정리 완료");
+    }
+
+    //WebFlux + R2DBC 조건부 UPDATE, 스레드 대신 구독 120개를 동시에 실행 (10명은 중복 요청)
+    @Test
+    @DisplayName("쿠폰 동시에 120개 리액티브 조건부 UPDATE 적용")
+    void 쿠폰발급_동시에_120개_리액티브_조건부() {
+        int requestCount = 120;
+
+        List<CouponIssueResponse> responses = Flux.range(0, requestCount)
+                .flatMap(i -> couponService.issueCoupon(couponId, (long) (i % 110)), requestCount)
+                .collectList()
+                .block();
+
+        assertIssued(responses);
+    }
+
+    @Test
+    @DisplayName("쿠폰 동시에 120개 리액티브 발급 이력 먼저 저장")
+    void 쿠폰발급_동시에_120개_리액티브_insert_first() {
+        int requestCount = 120;
+
+        List<CouponIssueResponse> responses = Flux.range(0, requestCount)
+                .flatMap(i -> couponService.issueCouponInsertFirst(couponId, (long) (i % 110)), requestCount)
+                .collectList()
+                .block();
+
+        assertIssued(responses);
+    }
+
+    private void assertIssued(List<CouponIssueResponse> responses) {
+        CouponResponse fresh = couponRepository.findById(couponId).block();
+        Long issueCount = databaseClient.sql("SELECT COUNT(*) AS cnt FROM coupon_issue WHERE coupon_id = :couponId")
+                .bind("couponId", couponId)
+                .map(row -> row.get("cnt", Long.class))
+                .one()
+                .block();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", issueCount);
+
+        // 검증
+        assertThat(responses).hasSize(120);
+        assertThat(responses).filteredOn(CouponIssueResponse::isSuccess).hasSize(100);
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(issueCount).isEqualTo(100);
+    }
+}
@@ -5,3 +5,6 @@ pluginManagement {
 	}
 }
 rootProject.name = "concurrency-test"
+
+// WebFlux + R2DBC 발급 서버 (./gradlew :reactive:bootRun)
+include("reactive")
@@ -0,0 +1,185 @@
+package com.yuuki.demo.jmh;
+
+import com.yuuki.demo.ConcurrencyTestApplication;
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.facade.CouponNamedLockFacade;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.service.CouponServiceCoalesced;
+import com.yuuki.demo.service.CouponServiceConditional;
+import com.yuuki.demo.service.CouponServiceOptimistic;
+import com.yuuki.demo.service.CouponServicePessimistic;
+import com.yuuki.demo.service.CouponServiceStripedLock;
+import com.yuuki.demo.service.CouponServiceSync;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * 발급 전략별 처리량 / 응답 시간 분포 비교 (./gradlew jmh)
+ *
+ * - H2(MySQL 모드) 메모리 DB 사용, MySQL 네임드 락은 H2NamedLocks 로 흉내
+ * - Redis 를 사용하는 전략은 제외
+ * - 파라미터: 전략, 재고 수량, 중복 사용자 비율 (스레드 수는 -Pjmh.threads)
+ * - 결과: 처리량, p50/p99/p999 (SampleTime), 발급 결과별 횟수 (Outcomes)
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CouponIssueBenchmark {
+
+    @Param({"sync", "striped-lock", "pessimistic", "optimistic", "conditional", "insert-first", "coalesced", "named-lock"})
+    public String strategy;
+
+    @Param({"100000"})
+    public int stock;
+
+    @Param({"0.0", "0.2"})
+    public double duplicateRatio;
+
+    private ConfigurableApplicationContext context;
+    private CouponRepository couponRepository;
+    private CouponIssueRepository couponIssueRepository;
+    private MeterRegistry meterRegistry;
+    private BiFunction<Long, Long, CouponIssueResponse> issuer;
+
+    private Long couponId;
+    private final AtomicLong nextUserId = new AtomicLong();
+    private double retriesBefore;
+    private double exhaustedBefore;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(ConcurrencyTestApplication.class)
+                .profiles("jmh")
+                .run();
+        couponRepository = context.getBean(CouponRepository.class);
+        couponIssueRepository = context.getBean(CouponIssueRepository.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS GET_LOCK FOR 'com.yuuki.demo.jmh.H2NamedLocks.getLock'");
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS RELEASE_LOCK FOR 'com.yuuki.demo.jmh.H2NamedLocks.releaseLock'");
+
+        issuer = switch (strategy) {
+            case "sync" -> context.getBean(CouponServiceSync.class)::issueCoupon;
+            case "striped-lock" -> context.getBean(CouponServiceStripedLock.class)::issueCoupon;
+            case "pessimistic" -> context.getBean(CouponServicePessimistic.class)::issueCoupon;
+            case "optimistic" -> context.getBean(CouponServiceOptimistic.class)::issueCouponWithRetry;
+            case "conditional" -> context.getBean(CouponServiceConditional.class)::issueCoupon;
+            case "insert-first" -> context.getBean(CouponServiceConditional.class)::issueCouponInsertFirst;
+            case "coalesced" -> context.getBean(CouponServiceCoalesced.class)::issueCoupon;
+            case "named-lock" -> context.getBean(CouponNamedLockFacade.class)::issueCoupon;
+            default -> throw new IllegalArgumentException("알 수 없는 전략입니다: " + strategy);
+        };
+    }
+
+    /**
+     * 반복마다 새 쿠폰으로 재고를 채움
+     */
+    @Setup(Level.Iteration)
+    public void createCoupon() {
+        couponIssueRepository.deleteAllInBatch();
+        Coupon coupon = Coupon.builder()
+                .name("JMH 벤치마크 쿠폰")
+                .totalQuantity(stock)
+                .build();
+        couponId = couponRepository.save(coupon).getId();
+        nextUserId.set(0);
+        retriesBefore = optimisticConflicts();
+        exhaustedBefore = meterRegistry.get("coupon.optimistic.retry.exhausted").counter().count();
+    }
+
+    @TearDown(Level.Iteration)
+    public void logRetries() {
+        if ("optimistic".equals(strategy)) {
+            log.info("낙관적 락 재시도 >>>> {}회, 재시도 포기 >>>> {}건",
+                    (long) (optimisticConflicts() - retriesBefore),
+                    (long) (meterRegistry.get("coupon.optimistic.retry.exhausted").counter().count() - exhaustedBefore));
+        }
+    }
+
+    private double optimisticConflicts() {
+        return meterRegistry.find("coupon.issue.conflicts").tag("strategy", "optimistic").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public CouponIssueResponse issue(Outcomes outcomes) {
+        CouponIssueResponse response = issuer.apply(couponId, nextUserId());
+        outcomes.record(response);
+        return response;
+    }
+
+    /**
+     * duplicateRatio 확률로 이미 요청한 사용자를 다시 사용
+     */
+    private long nextUserId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long issued = nextUserId.get();
+        if (issued > 0 && random.nextDouble() < duplicateRatio) {
+            return random.nextLong(issued);
+        }
+        return nextUserId.getAndIncrement();
+    }
+
+    /**
+     * 발급 결과별 횟수 (스레드별로 집계되어 결과에 합산)
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long issued;
+        public long duplicate;
+        public long soldOut;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            issued = 0;
+            duplicate = 0;
+            soldOut = 0;
+            failed = 0;
+        }
+
+        void record(CouponIssueResponse response) {
+            if (response.isSuccess()) {
+                issued++;
+            } else if (response.isDuplicate()) {
+                duplicate++;
+            } else if (response.isSoldOut()) {
+                soldOut++;
+            } else {
+                // 재시도 포기, 락 대기 시간 초과 등
+                failed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.yuuki.demo.jmh;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2 에서 MySQL 네임드 락(GET_LOCK / RELEASE_LOCK) 흉내
+ *
+ * - CREATE ALIAS 로 등록하여 LockRepository 의 SQL 을 그대로 실행
+ * - 세션 소유권은 확인하지 않음 (LockRepository 는 항상 같은 커넥션에서 획득/해제)
+ */
+public final class H2NamedLocks {
+
+    private static final Map<String, Semaphore> LOCKS = new ConcurrentHashMap<>();
+
+    private H2NamedLocks() {
+    }
+
+    /**
+     * @return 1: 획득, 0: 대기 시간 초과
+     */
+    public static int getLock(String name, long timeoutSeconds) throws InterruptedException {
+        Semaphore lock = LOCKS.computeIfAbsent(name, key -> new Semaphore(1));
+        return lock.tryAcquire(timeoutSeconds, TimeUnit.SECONDS) ? 1 : 0;
+    }
+
+    /**
+     * @return 1: 해제, NULL: 존재하지 않는 락
+     */
+    public static Integer releaseLock(String name) {
+        Semaphore lock = LOCKS.get(name);
+        if (lock == null) {
+            return null;
+        }
+        lock.release();
+        return 1;
+    }
+}
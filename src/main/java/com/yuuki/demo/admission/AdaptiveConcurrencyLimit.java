@@ -0,0 +1,80 @@
+package com.yuuki.demo.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간에 따라 스스로 조정되는 동시 처리 수 제한 (AIMD)
+ *
+ * - 처리 중인 요청이 limit 이상이면 새 요청 거절
+ * - 응답 시간이 목표 이내: limit += 1 / limit (limit 개 요청이 끝날 때마다 1 증가)
+ * - 응답 시간이 목표 초과 또는 오류: limit *= backoffRatio (목표 시간에 한 번만 감소)
+ *
+ * 과부하 시 DB 커넥션/락 대기열에 요청이 쌓이기 전에 거절하여 수락된 요청의 응답 시간을 유지
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private volatile long lastDecreaseAt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long targetLatencyNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseAt = System.nanoTime() - targetLatencyNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos 처리 시간
+     * @param failed       예외로 끝났는지 여부
+     */
+    public void release(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+
+        // 제한 값은 근사치면 충분하므로 동기화 없이 갱신
+        if (failed || latencyNanos > targetLatencyNanos) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseAt >= targetLatencyNanos) {
+                lastDecreaseAt = now;
+                limit = Math.max(minLimit, limit * backoffRatio);
+            }
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * 처리하지 않고 돌려줌 (다른 제한에 걸려 거절된 요청, 제한 값은 그대로)
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
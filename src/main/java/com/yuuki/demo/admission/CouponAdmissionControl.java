@@ -0,0 +1,76 @@
+package com.yuuki.demo.admission;
+
+import com.yuuki.demo.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 발급 요청 수락 제어 (load shedding)
+ *
+ * - 전체 동시 처리 수 제한 (AdaptiveConcurrencyLimit) → 쿠폰별 초당 요청 수 제한 (CouponRateLimiter) 순서로 확인
+ *   동시 처리 수 제한에 걸린 요청은 쿠폰별 토큰을 쓰지 않고, 초당 요청 수 제한에 걸린 요청은 동시 처리 자리를 돌려줌
+ *   (한쪽 제한에 거절된 요청이 다른 쪽 한도를 깎지 않음)
+ * - 거절된 요청은 발급 전략을 호출하지 않고 바로 429 응답
+ * - 지표: coupon.admission.limit, coupon.admission.in-flight, coupon.admission.rejected (reason 태그)
+ */
+@Component
+public class CouponAdmissionControl {
+
+    private final boolean enabled;
+    private final CouponRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter rateRejectedCounter;
+    private final Counter limitRejectedCounter;
+
+    public CouponAdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        AdmissionProperties.Limit limit = properties.getLimit();
+        AdmissionProperties.Rate rate = properties.getRate();
+
+        this.enabled = properties.isEnabled();
+        this.rateLimiter = rate.getPermitsPerSecond() > 0
+                ? new CouponRateLimiter(rate.getPermitsPerSecond(), rate.getBurst())
+                : null;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(limit.getInitial(), limit.getMin(), limit.getMax(),
+                limit.getTargetLatency().toNanos(), limit.getBackoffRatio());
+
+        Gauge.builder("coupon.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("현재 동시 처리 요청 수 제한")
+                .register(meterRegistry);
+        Gauge.builder("coupon.admission.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("처리 중인 발급 요청 수")
+                .register(meterRegistry);
+        this.rateRejectedCounter = Counter.builder("coupon.admission.rejected")
+                .tag("reason", "coupon_rate")
+                .register(meterRegistry);
+        this.limitRejectedCounter = Counter.builder("coupon.admission.rejected")
+                .tag("reason", "concurrency_limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 수락 여부, 수락되었으면 처리가 끝난 뒤 반드시 release 호출
+     */
+    public boolean tryAcquire(Long couponId) {
+        if (!enabled) {
+            return true;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            limitRejectedCounter.increment();
+            return false;
+        }
+        if (rateLimiter != null && !rateLimiter.tryAcquire(couponId)) {
+            concurrencyLimit.cancel();
+            rateRejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        if (enabled) {
+            concurrencyLimit.release(latencyNanos, failed);
+        }
+    }
+}
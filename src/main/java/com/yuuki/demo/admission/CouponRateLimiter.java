@@ -0,0 +1,46 @@
+package com.yuuki.demo.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 쿠폰별 토큰 버킷 (GCRA: Generic Cell Rate Algorithm)
+ *
+ * - 쿠폰마다 "다음 요청이 도착해야 하는 이론적 시각(TAT)" 하나만 저장
+ * - 요청마다 TAT 를 요청 간격만큼 뒤로 밀고, TAT 가 현재보다 burst 만큼 이상 앞서 있으면 거절
+ * - 토큰 수를 주기적으로 채우는 스레드 없이 CAS 한 번으로 판단
+ * - 오래 요청이 없는 쿠폰은 Caffeine 캐시에서 만료
+ */
+public class CouponRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<Long, AtomicLong> theoreticalArrivals;
+
+    public CouponRateLimiter(int permitsPerSecond, int burst) {
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.theoreticalArrivals = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public boolean tryAcquire(Long couponId) {
+        AtomicLong tat = theoreticalArrivals.get(couponId, id -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long arrival = Math.max(current, now);
+            if (arrival - now > burstToleranceNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+}
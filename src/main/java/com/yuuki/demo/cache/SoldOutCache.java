@@ -0,0 +1,111 @@
+package com.yuuki.demo.cache;
+
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재고 소진 쿠폰 캐시
+ *
+ * 재고가 소진된 쿠폰은 이후 요청을 트랜잭션, 락, DB 조회 없이 바로 거절하기 위해 사용
+ * - 로컬 메모리에 소진 여부 저장
+ * - coupon.sold-out.redis-pub-sub=true 이면 Redis pub/sub 으로 다른 인스턴스에도 전파
+ * - 쿠폰 수량이 늘어나면 소진 표시 해제
+ *
+ * 소진 표시 해제와 늦게 도착한 소진 표시가 엇갈리지 않도록 쿠폰별 세대(epoch) 사용
+ * - 해제할 때마다 세대를 올리고, 소진 표시는 재고를 확인하기 전에 읽어 둔 세대와 현재 세대가 같을 때만 유효
+ * - 수량이 늘어나기 전에 읽은 재고로 소진을 판단한 요청이 해제 뒤에 표시해도 무시됨
+ */
+@Slf4j
+@Component
+public class SoldOutCache {
+
+    private static final String SOLD_OUT_CHANNEL = "coupon:sold-out";
+    private static final String EVICT_CHANNEL = "coupon:sold-out:evict";
+
+    /**
+     * 쿠폰 ID -> 소진 표시한 세대
+     */
+    private final Map<Long, Long> soldOutCoupons = new ConcurrentHashMap<>();
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisPubSub;
+
+    public SoldOutCache(StringRedisTemplate redisTemplate,
+                        RedisMessageListenerContainer listenerContainer,
+                        @Value("${coupon.sold-out.redis-pub-sub:false}") boolean redisPubSub) {
+        this.redisTemplate = redisTemplate;
+        this.redisPubSub = redisPubSub;
+
+        if (redisPubSub) {
+            listenerContainer.addMessageListener((message, pattern) -> {
+                Long couponId = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+                soldOutCoupons.put(couponId, epoch(couponId));
+            }, new ChannelTopic(SOLD_OUT_CHANNEL));
+            listenerContainer.addMessageListener((message, pattern) ->
+                    evictLocal(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))), new ChannelTopic(EVICT_CHANNEL));
+        }
+    }
+
+    public boolean isSoldOut(Long couponId) {
+        Long markedEpoch = soldOutCoupons.get(couponId);
+        return markedEpoch != null && markedEpoch == epoch(couponId);
+    }
+
+    /**
+     * 현재 세대 (재고를 확인하기 전에 읽어 두고 markSoldOut 에 전달)
+     */
+    public long epoch(Long couponId) {
+        return epochs.getOrDefault(couponId, 0L);
+    }
+
+    /**
+     * 재고 소진 표시
+     * 재고를 확인한 뒤 호출하고, 확인 전에 읽은 세대 이후 해제된 적이 있으면 무시
+     *
+     * @param epoch 재고를 확인하기 전에 epoch() 로 읽은 세대
+     */
+    public void markSoldOut(Long couponId, long epoch) {
+        if (epoch != epoch(couponId)) {
+            log.debug("소진 표시 무시 (이미 해제됨) - couponId: {}", couponId);
+            return;
+        }
+        // 표시한 뒤 해제되면 세대가 달라져 isSoldOut 에서 무시됨
+        if (!Objects.equals(soldOutCoupons.put(couponId, epoch), epoch)) {
+            log.info("쿠폰 재고 소진 - couponId: {}", couponId);
+            if (redisPubSub) {
+                redisTemplate.convertAndSend(SOLD_OUT_CHANNEL, couponId.toString());
+            }
+        }
+    }
+
+    public void evict(Long couponId) {
+        evictLocal(couponId);
+        if (redisPubSub) {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, couponId.toString());
+        }
+    }
+
+    /**
+     * 세대를 먼저 올린 뒤 해제 (이전 세대로 하는 표시는 모두 무효)
+     */
+    private void evictLocal(Long couponId) {
+        epochs.merge(couponId, 1L, Long::sum);
+        soldOutCoupons.remove(couponId);
+    }
+
+    @TransactionalEventListener
+    public void onQuantityIncreased(CouponQuantityIncreasedEvent event) {
+        evict(event.couponId());
+    }
+}
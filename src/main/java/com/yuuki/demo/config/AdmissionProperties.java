@@ -0,0 +1,65 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 발급 요청 수락 제어(admission control) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private Limit limit = new Limit();
+
+    private Rate rate = new Rate();
+
+    /**
+     * 전체 동시 처리 요청 수 제한 (AIMD)
+     * 응답 시간이 목표 이내면 조금씩 늘리고, 넘으면 비율로 줄임
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private int initial = 50;
+
+        private int min = 5;
+
+        private int max = 500;
+
+        /**
+         * 이 시간을 넘는 응답이 나오면 제한을 줄임
+         */
+        private Duration targetLatency = Duration.ofMillis(200);
+
+        /**
+         * 줄일 때 곱하는 비율
+         */
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * 쿠폰별 초당 요청 수 제한 (토큰 버킷, GCRA)
+     */
+    @Getter
+    @Setter
+    public static class Rate {
+
+        /**
+         * 쿠폰별 초당 허용 요청 수 (0 이면 제한 없음)
+         */
+        private int permitsPerSecond = 2_000;
+
+        /**
+         * 순간적으로 몰려도 허용하는 요청 수
+         */
+        private int burst = 500;
+    }
+}
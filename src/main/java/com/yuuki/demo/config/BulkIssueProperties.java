@@ -0,0 +1,20 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 대량 발급 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.bulk-issue")
+public class BulkIssueProperties {
+
+    /**
+     * 한 트랜잭션에서 처리할 사용자 수
+     * (중복 확인 IN 쿼리의 파라미터 수이자 JDBC 배치 INSERT 크기)
+     */
+    private int chunkSize = 5_000;
+}
@@ -0,0 +1,41 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 발급 요청 묶음 처리(coalescing) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * 한 트랜잭션에서 처리할 최대 요청 수
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * 배치가 다 차지 않았을 때 요청을 더 기다리는 시간
+     */
+    private Duration maxWait = Duration.ofNanos(500_000);
+
+    /**
+     * 배치를 처리하는 스레드 수 (동시에 처리할 수 있는 쿠폰 수)
+     */
+    private int workerThreads = 4;
+
+    /**
+     * 작성 스레드가 한 쿠폰에서 연속으로 처리할 최대 배치 수 (넘으면 다른 쿠폰에 스레드를 양보)
+     */
+    private int maxBatchesPerDrain = 4;
+
+    /**
+     * 요청한 쪽이 결과를 기다리는 최대 시간
+     */
+    private Duration responseTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,36 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 쿠폰 조회 캐시 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.cache")
+public class CouponCacheProperties {
+
+    /**
+     * 로컬 캐시 유지 시간 (조회 결과가 늦게 반영될 수 있는 최대 시간)
+     */
+    private Duration ttl = Duration.ofSeconds(1);
+
+    /**
+     * 로컬 캐시 최대 쿠폰 수
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 로컬 캐시에 없을 때 Redis 캐시 사용 여부
+     */
+    private boolean redisEnabled = false;
+
+    /**
+     * Redis 캐시 유지 시간
+     */
+    private Duration redisTtl = Duration.ofSeconds(1);
+}
@@ -0,0 +1,51 @@
+package com.yuuki.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * DataSource 설정
+ *
+ * - dataSource: JPA, JdbcTemplate 등 일반 트랜잭션용 (spring.datasource.*)
+ * - lockDataSource: MySQL 네임드 락(GET_LOCK / RELEASE_LOCK) 전용 (coupon.named-lock.datasource.*)
+ *   락을 잡는 커넥션과 트랜잭션 커넥션을 다른 풀에서 가져와 한 풀이 고갈되어 멈추는 상황을 방지
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("coupon.named-lock.datasource")
+    public DataSourceProperties lockDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("coupon.named-lock.datasource.hikari")
+    public HikariDataSource lockDataSource(
+            @Qualifier("lockDataSourceProperties") DataSourceProperties lockDataSourceProperties) {
+        return lockDataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+}
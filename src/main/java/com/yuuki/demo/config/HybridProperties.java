@@ -0,0 +1,52 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 경합에 따라 낙관적 락 / 비관적 락을 바꾸는 발급(hybrid) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.hybrid")
+public class HybridProperties {
+
+    /**
+     * 충돌률을 계산하는 최근 구간 길이
+     */
+    private Duration window = Duration.ofSeconds(10);
+
+    /**
+     * 구간을 나누는 칸 수 (칸 하나 길이만큼씩 밀려남)
+     */
+    private int buckets = 10;
+
+    /**
+     * 충돌률로 모드를 바꾸기 위한 구간 내 최소 표본 수 (요청이 적을 때 한두 번의 충돌로 바뀌지 않도록)
+     */
+    private int minSamples = 20;
+
+    /**
+     * 이 충돌률 이상이면 비관적 락으로 전환
+     */
+    private double hotConflictRate = 0.2;
+
+    /**
+     * 이 충돌률 이하로 내려가면 낙관적 락으로 복귀 (hot 보다 낮게 두어 경계에서 모드가 계속 바뀌지 않도록)
+     */
+    private double coolConflictRate = 0.05;
+
+    /**
+     * 모드를 바꾼 뒤 다시 바꾸기까지 최소 유지 시간
+     */
+    private Duration minHold = Duration.ofSeconds(5);
+
+    /**
+     * 비관적 락 모드에서 행 락 대기가 이 시간 이상이면 충돌로 집계 (다른 트랜잭션이 같은 행을 수정 중이었음)
+     * 행 락 대기는 락 조회 시간에서 경합 없는 조회 시간(최근 최솟값)을 뺀 값
+     */
+    private Duration lockWaitThreshold = Duration.ofMillis(2);
+}
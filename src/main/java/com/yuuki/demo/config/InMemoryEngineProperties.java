@@ -0,0 +1,24 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 인메모리 발급 엔진 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.in-memory")
+public class InMemoryEngineProperties {
+
+    /**
+     * 애플리케이션 시작 시 재고가 남은 쿠폰을 모두 적재 (false 이면 첫 요청 시 적재)
+     */
+    private boolean preload = false;
+
+    /**
+     * 쿠폰별 발급 사용자 집합을 나누는 구간 수 (2의 거듭제곱, 구간마다 락 하나)
+     */
+    private int segments = 64;
+}
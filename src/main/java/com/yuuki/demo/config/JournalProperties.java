@@ -0,0 +1,42 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 발급 저널(로컬 write-ahead log) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.journal")
+public class JournalProperties {
+
+    /**
+     * 인메모리 발급 결과를 저널에 기록한 뒤 응답 (false 이면 write-behind 대기열 사용)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 세그먼트 파일과 체크포인트를 저장할 디렉터리
+     */
+    private String directory = "data/journal";
+
+    /**
+     * 세그먼트 파일 하나의 크기 (가득 차면 새 세그먼트 생성)
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 저널을 coupon_issue 테이블에 반영하는 주기 (@Scheduled 는 coupon.journal.reconcile-interval 값을 직접 사용)
+     */
+    private Duration reconcileInterval = Duration.ofMillis(200);
+
+    /**
+     * 한 번에 반영할 최대 기록 수
+     */
+    private int reconcileBatchSize = 5_000;
+}
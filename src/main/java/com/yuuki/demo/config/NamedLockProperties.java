@@ -0,0 +1,22 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * MySQL 네임드 락 설정
+ * 락 전용 커넥션 풀은 coupon.named-lock.datasource.* 로 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.named-lock")
+public class NamedLockProperties {
+
+    /**
+     * 락 획득을 기다리는 최대 시간 (GET_LOCK 은 초 단위로 올림)
+     */
+    private Duration waitTimeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,26 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Redis 분산 락 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.redis-lock")
+public class RedisLockProperties {
+
+    /**
+     * 락 획득을 기다리는 최대 시간
+     */
+    private Duration waitTime = Duration.ofSeconds(5);
+
+    /**
+     * 락 점유 시간 (잡고 있는 동안 1/3 마다 연장, 락을 잡은 서버가 죽으면 이 시간이 지나 자동 해제)
+     */
+    private Duration leaseTime = Duration.ofSeconds(3);
+}
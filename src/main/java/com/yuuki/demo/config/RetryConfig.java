@@ -0,0 +1,19 @@
+package com.yuuki.demo.config;
+
+import com.yuuki.demo.retry.ExponentialBackoffRetryPolicy;
+import com.yuuki.demo.retry.RetryPolicy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RetryConfig {
+
+    @Bean
+    public RetryPolicy optimisticRetryPolicy(RetryProperties properties) {
+        return new ExponentialBackoffRetryPolicy(
+                properties.getBaseDelay(),
+                properties.getMaxDelay(),
+                properties.getDeadline()
+        );
+    }
+}
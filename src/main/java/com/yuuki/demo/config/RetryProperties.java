@@ -0,0 +1,31 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 낙관적 락 재시도 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.optimistic.retry")
+public class RetryProperties {
+
+    /**
+     * 첫 재시도 대기 상한
+     */
+    private Duration baseDelay = Duration.ofMillis(10);
+
+    /**
+     * 재시도 대기 상한의 최댓값
+     */
+    private Duration maxDelay = Duration.ofMillis(200);
+
+    /**
+     * 첫 시도부터 재시도를 포기할 때까지의 시간
+     */
+    private Duration deadline = Duration.ofSeconds(3);
+}
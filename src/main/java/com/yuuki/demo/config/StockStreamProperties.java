@@ -0,0 +1,31 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 남은 수량 SSE 스트림 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.stream")
+public class StockStreamProperties {
+
+    /**
+     * 쿠폰별 변경을 모아서 보내는 주기 (@Scheduled 는 coupon.stream.interval 값을 직접 사용)
+     */
+    private Duration interval = Duration.ofMillis(200);
+
+    /**
+     * 변경이 없을 때 연결 유지를 위해 보내는 주석(heartbeat) 주기
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * 연결 최대 유지 시간 (지나면 클라이언트가 EventSource 로 다시 연결)
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,46 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 대기열(waiting room) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.waiting-room")
+public class WaitingRoomProperties {
+
+    /**
+     * 대기열 사용 여부 (기본 false, Redis 가 있는 환경에서 켬 / 끄면 입장을 받지 않음)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 대기열을 켰을 때 스케줄러로 발급할지 여부 (테스트는 끈 채로 직접 admit 호출)
+     */
+    private boolean schedulerEnabled = true;
+
+    /**
+     * 대기열에서 발급으로 넘기는 주기 (@Scheduled 는 coupon.waiting-room.tick 값을 직접 사용)
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    /**
+     * 주기마다 발급으로 넘기는 최대 사용자 수
+     */
+    private int admitPerTick = 50;
+
+    /**
+     * 대기열에서 넘어온 사용자를 발급할 전략 (pessimistic / conditional / insert-first / coalesced)
+     */
+    private String strategy = "conditional";
+
+    /**
+     * 발급 결과 보관 시간
+     */
+    private Duration resultTtl = Duration.ofHours(1);
+}
@@ -0,0 +1,42 @@
+package com.yuuki.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 쿠폰 발급 이력 비동기 저장(write-behind) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.write-behind")
+public class WriteBehindProperties {
+
+    /**
+     * 대기열 최대 크기 (가득 차면 발급 요청을 거절)
+     */
+    private int capacity = 100_000;
+
+    /**
+     * 한 번에 저장할 최대 건수
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * 배치가 다 차지 않아도 저장하는 주기
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * 대기열이 가득 찼을 때 자리가 날 때까지 기다리는 시간
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * 종료할 때까지 저장하지 못한 이력을 한 줄씩(JSON) 기록하는 파일 (다음 시작 시 다시 저장)
+     */
+    private Path deadLetterFile = Path.of("data/write-behind/dead-letter.ndjson");
+}
@@ -0,0 +1,17 @@
+package com.yuuki.demo.contention;
+
+/**
+ * 쿠폰별 발급 방식
+ */
+public enum ContentionMode {
+
+    /**
+     * 경합이 적을 때: 락 없이 버전 확인 (충돌 시 재시도)
+     */
+    OPTIMISTIC,
+
+    /**
+     * 경합이 심할 때: SELECT ... FOR UPDATE 로 줄 세움 (재시도 없음)
+     */
+    PESSIMISTIC
+}
@@ -0,0 +1,257 @@
+package com.yuuki.demo.contention;
+
+import com.yuuki.demo.config.HybridProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 쿠폰별 충돌률 추적 및 발급 방식(ContentionMode) 결정
+ *
+ * - 최근 window 동안의 표본 수 / 충돌 수를 buckets 칸의 원형 배열에 집계 (시간이 지나면 오래된 칸부터 비움)
+ * - 낙관적 락 모드: 버전 충돌이 난 시도가 충돌, 발급에 성공한 시도가 비충돌 표본
+ * - 비관적 락 모드: 행 락 대기가 lock-wait-threshold 이상이면 충돌 (낙관적 락이었다면 충돌했을 요청)
+ *   행 락 대기 = 락 조회 시간 - 경합 없는 락 조회 시간(최근 두 구간의 최솟값, 모든 쿠폰 공통)
+ *   쿼리 왕복 / DB 처리 시간이 길어져도 실제로 다른 트랜잭션을 기다린 시간만 충돌로 판단
+ * - 충돌률이 hot-conflict-rate 이상이면 비관적 락, cool-conflict-rate 이하이면 낙관적 락으로 전환
+ *   두 기준 사이에서는 현재 모드 유지, 바꾼 뒤 min-hold 동안은 다시 바꾸지 않음 (경계에서 모드가 흔들리지 않도록)
+ * - 모드를 바꾸면 구간을 비우고 새 모드의 표본으로 다시 판단
+ *
+ * 지표: coupon.hybrid.pessimistic (비관적 락 모드인 쿠폰 수), coupon.hybrid.switch (mode 태그: 전환된 모드)
+ * 상태는 인스턴스마다 따로 관리 (인스턴스별로 자기가 본 충돌률로 판단)
+ */
+@Slf4j
+@Component
+public class CouponContentionTracker {
+
+    private final HybridProperties properties;
+    private final long bucketNanos;
+    private final long windowNanos;
+    private final long minHoldNanos;
+    private final Map<Long, Contention> contentions = new ConcurrentHashMap<>();
+    private final Baseline lockWaitBaseline = new Baseline();
+    private final Counter toPessimisticCounter;
+    private final Counter toOptimisticCounter;
+
+    public CouponContentionTracker(HybridProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bucketNanos = Math.max(1, properties.getWindow().toNanos() / Math.max(1, properties.getBuckets()));
+        this.minHoldNanos = properties.getMinHold().toNanos();
+        this.windowNanos = Math.max(1, properties.getWindow().toNanos());
+
+        Gauge.builder("coupon.hybrid.pessimistic", contentions,
+                        map -> map.values().stream().filter(c -> c.mode == ContentionMode.PESSIMISTIC).count())
+                .description("비관적 락으로 발급 중인 쿠폰 수")
+                .register(meterRegistry);
+        this.toPessimisticCounter = Counter.builder("coupon.hybrid.switch")
+                .description("발급 방식 전환 횟수")
+                .tag("mode", "pessimistic")
+                .register(meterRegistry);
+        this.toOptimisticCounter = Counter.builder("coupon.hybrid.switch")
+                .description("발급 방식 전환 횟수")
+                .tag("mode", "optimistic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 발급 방식 (기록이 없는 쿠폰은 낙관적 락)
+     */
+    public ContentionMode mode(Long couponId) {
+        Contention contention = contentions.get(couponId);
+        return contention != null ? contention.mode : ContentionMode.OPTIMISTIC;
+    }
+
+    /**
+     * 낙관적 락 시도 결과 기록
+     *
+     * @param conflicted 버전 충돌 여부
+     */
+    public void recordAttempt(Long couponId, boolean conflicted) {
+        record(couponId, conflicted);
+    }
+
+    /**
+     * 비관적 락 조회 시간 기록 (경합 없는 조회 시간을 뺀 만큼을 락 대기로 판단)
+     */
+    public void recordLockWait(Long couponId, long elapsedNanos) {
+        long baseline = lockWaitBaseline.update(Math.floorDiv(System.nanoTime(), windowNanos), elapsedNanos);
+        record(couponId, elapsedNanos - baseline >= properties.getLockWaitThreshold().toNanos());
+    }
+
+    /**
+     * 기록 삭제 (낙관적 락부터 다시 시작)
+     */
+    public void evict(Long couponId) {
+        contentions.remove(couponId);
+    }
+
+    /**
+     * 구간 동안 요청이 없었던 쿠폰의 기록 삭제
+     * 비관적 락 모드였다면 낙관적 락으로 돌아감 (다음 요청은 경합이 없다고 보고 시작)
+     * 요청이 min-samples 에 못 미쳐 충돌률로 판단할 수 없는 비관적 락 쿠폰도 낙관적 락으로 복귀
+     * (요청이 그만큼 적으면 경합도 적음, 그대로 두면 표본이 모이지 않아 비관적 락에 계속 머묾)
+     */
+    @Scheduled(fixedDelayString = "${coupon.hybrid.window:10s}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long epoch = bucketEpoch(now);
+        contentions.forEach((couponId, contention) -> {
+            contention.lock.lock();
+            try {
+                if (now - contention.modeSince < minHoldNanos) {
+                    return;
+                }
+                int samples = contention.samples(epoch);
+                if (samples == 0) {
+                    if (contentions.remove(couponId, contention) && contention.mode == ContentionMode.PESSIMISTIC) {
+                        toOptimisticCounter.increment();
+                        log.info("발급 방식 전환 (요청 없음) - couponId: {}, {} -> {}",
+                                couponId, ContentionMode.PESSIMISTIC, ContentionMode.OPTIMISTIC);
+                    }
+                    return;
+                }
+                if (contention.mode == ContentionMode.PESSIMISTIC && samples < properties.getMinSamples()) {
+                    switchMode(couponId, contention, ContentionMode.OPTIMISTIC,
+                            (double) contention.conflicts(epoch) / samples, now);
+                }
+            } finally {
+                contention.lock.unlock();
+            }
+        });
+    }
+
+    private void record(Long couponId, boolean conflicted) {
+        long now = System.nanoTime();
+        long epoch = bucketEpoch(now);
+        // 처음 기록하는 쿠폰은 유지 시간 없이 바로 전환 가능 (오픈 직후 몰리는 요청)
+        Contention contention = contentions.computeIfAbsent(couponId,
+                id -> new Contention(Math.max(1, properties.getBuckets()), now - minHoldNanos));
+
+        contention.lock.lock();
+        try {
+            // 1. 현재 칸에 표본 추가 (다른 시간대의 칸이면 비우고 사용)
+            contention.add(epoch, conflicted);
+
+            // 2. 모드 유지 시간이 지나지 않았거나 표본이 부족하면 그대로
+            if (now - contention.modeSince < minHoldNanos) {
+                return;
+            }
+            int samples = contention.samples(epoch);
+            if (samples < properties.getMinSamples()) {
+                return;
+            }
+
+            // 3. 충돌률로 전환 여부 판단
+            double conflictRate = (double) contention.conflicts(epoch) / samples;
+            if (contention.mode == ContentionMode.OPTIMISTIC && conflictRate >= properties.getHotConflictRate()) {
+                switchMode(couponId, contention, ContentionMode.PESSIMISTIC, conflictRate, now);
+            } else if (contention.mode == ContentionMode.PESSIMISTIC && conflictRate <= properties.getCoolConflictRate()) {
+                switchMode(couponId, contention, ContentionMode.OPTIMISTIC, conflictRate, now);
+            }
+        } finally {
+            contention.lock.unlock();
+        }
+    }
+
+    private void switchMode(Long couponId, Contention contention, ContentionMode mode, double conflictRate, long now) {
+        log.info("발급 방식 전환 - couponId: {}, {} -> {}, 충돌률: {}",
+                couponId, contention.mode, mode, String.format("%.2f", conflictRate));
+        contention.mode = mode;
+        contention.modeSince = now;
+        contention.reset();
+        (mode == ContentionMode.PESSIMISTIC ? toPessimisticCounter : toOptimisticCounter).increment();
+    }
+
+    private long bucketEpoch(long now) {
+        return Math.floorDiv(now, bucketNanos);
+    }
+
+    /**
+     * 경합 없는 락 조회 시간 (구간마다 최솟값, 현재 + 직전 구간 중 작은 값)
+     * 경합이 계속되어도 락이 비어 있을 때 도착한 요청의 조회 시간이 최솟값이 됨
+     */
+    private static final class Baseline {
+        private long epoch = Long.MIN_VALUE;
+        private long current = Long.MAX_VALUE;
+        private long previous = Long.MAX_VALUE;
+
+        private synchronized long update(long epoch, long sample) {
+            if (epoch != this.epoch) {
+                previous = epoch == this.epoch + 1 ? current : Long.MAX_VALUE;
+                current = Long.MAX_VALUE;
+                this.epoch = epoch;
+            }
+            current = Math.min(current, sample);
+            return Math.min(current, previous);
+        }
+    }
+
+    /**
+     * 쿠폰 하나의 최근 구간 집계 (lock 을 잡고 접근)
+     */
+    private static final class Contention {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] epochs;
+        private final int[] samples;
+        private final int[] conflicts;
+        private volatile ContentionMode mode = ContentionMode.OPTIMISTIC;
+        private long modeSince;
+
+        private Contention(int buckets, long modeSince) {
+            this.epochs = new long[buckets];
+            this.samples = new int[buckets];
+            this.conflicts = new int[buckets];
+            this.modeSince = modeSince;
+            reset();
+        }
+
+        private void add(long epoch, boolean conflicted) {
+            int index = (int) Math.floorMod(epoch, (long) epochs.length);
+            if (epochs[index] != epoch) {
+                epochs[index] = epoch;
+                samples[index] = 0;
+                conflicts[index] = 0;
+            }
+            samples[index]++;
+            if (conflicted) {
+                conflicts[index]++;
+            }
+        }
+
+        private int samples(long epoch) {
+            int total = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (inWindow(epochs[i], epoch)) {
+                    total += samples[i];
+                }
+            }
+            return total;
+        }
+
+        private int conflicts(long epoch) {
+            int total = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (inWindow(epochs[i], epoch)) {
+                    total += conflicts[i];
+                }
+            }
+            return total;
+        }
+
+        private boolean inWindow(long bucketEpoch, long epoch) {
+            return bucketEpoch != Long.MIN_VALUE && epoch - bucketEpoch < epochs.length;
+        }
+
+        private void reset() {
+            Arrays.fill(epochs, Long.MIN_VALUE);
+        }
+    }
+}
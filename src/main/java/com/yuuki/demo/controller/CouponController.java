@@ -1,16 +1,43 @@
 package com.yuuki.demo.controller;
 
+import com.yuuki.demo.admission.CouponAdmissionControl;
+import com.yuuki.demo.cache.SoldOutCache;
 import com.yuuki.demo.domain.Coupon;
 import com.yuuki.demo.dto.CouponIssueRequest;
+import com.yuuki.demo.facade.CouponNamedLockFacade;
+import com.yuuki.demo.facade.CouponRedisLockFacade;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
 import com.yuuki.demo.dto.CouponIssueResponse;
 import com.yuuki.demo.dto.CouponResponse;
+import com.yuuki.demo.dto.WaitingRoomResponse;
 import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.service.CouponBulkIssueService;
+import com.yuuki.demo.service.CouponQueryService;
+import com.yuuki.demo.service.CouponService;
 import com.yuuki.demo.service.CouponServiceSync;
 import com.yuuki.demo.service.CouponServicePessimistic;
 import com.yuuki.demo.service.CouponServiceOptimistic;
+import com.yuuki.demo.service.CouponServiceConditional;
+import com.yuuki.demo.service.CouponServiceRedis;
+import com.yuuki.demo.service.CouponServiceSharded;
+import com.yuuki.demo.service.CouponServiceStripedLock;
+import com.yuuki.demo.service.CouponServiceCoalesced;
+import com.yuuki.demo.service.CouponServiceInMemory;
+import com.yuuki.demo.service.CouponServiceHybrid;
+import com.yuuki.demo.service.CouponWaitingRoomService;
+import com.yuuki.demo.stream.CouponStockStream;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiFunction;
 
 @RestController
 @RequestMapping("/api/coupons")
@@ -18,9 +45,26 @@ import org.springframework.web.bind.annotation.*;
 public class CouponController {
 
     private final CouponRepository couponRepository;
+    private final CouponQueryService couponQueryService;
+    private final CouponStockStream couponStockStream;
+    private final CouponService couponService;
+    private final SoldOutCache soldOutCache;
+    private final CouponIssueMetrics issueMetrics;
+    private final CouponAdmissionControl admissionControl;
     private final CouponServiceSync couponServiceSync;
     private final CouponServicePessimistic couponServicePessimistic;
     private final CouponServiceOptimistic couponServiceOptimistic;
+    private final CouponServiceConditional couponServiceConditional;
+    private final CouponServiceRedis couponServiceRedis;
+    private final CouponServiceSharded couponServiceSharded;
+    private final CouponServiceStripedLock couponServiceStripedLock;
+    private final CouponServiceCoalesced couponServiceCoalesced;
+    private final CouponServiceInMemory couponServiceInMemory;
+    private final CouponServiceHybrid couponServiceHybrid;
+    private final CouponBulkIssueService couponBulkIssueService;
+    private final CouponWaitingRoomService couponWaitingRoomService;
+    private final CouponNamedLockFacade couponNamedLockFacade;
+    private final CouponRedisLockFacade couponRedisLockFacade;
 
     /**
      * 쿠폰 생성
@@ -38,13 +82,58 @@ public class CouponController {
     }
 
     /**
-     * 쿠폰 조회
+     * 쿠폰 조회 (캐시 사용)
      */
     @GetMapping("/{couponId}")
     public ResponseEntity<CouponResponse> getCoupon(@PathVariable Long couponId) {
-        Coupon coupon = couponRepository.findById(couponId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
-        return ResponseEntity.ok(CouponResponse.from(coupon));
+        return ResponseEntity.ok(couponQueryService.getCoupon(couponId));
+    }
+
+    /**
+     * 쿠폰 남은 수량 스트림 (SSE, 폴링 대신 사용)
+     */
+    @GetMapping(value = "/{couponId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCoupon(@PathVariable Long couponId) {
+        return couponStockStream.subscribe(couponId);
+    }
+
+    /**
+     * 쿠폰 수량 증가
+     */
+    @PostMapping("/{couponId}/quantity")
+    public ResponseEntity<CouponResponse> increaseQuantity(
+            @PathVariable Long couponId,
+            @RequestParam Integer amount) {
+        couponService.increaseQuantity(couponId, amount);
+        return ResponseEntity.ok(couponQueryService.getCouponFromDb(couponId));
+    }
+
+    /**
+     * 쿠폰 재고 분할
+     */
+    @PostMapping("/{couponId}/buckets")
+    public ResponseEntity<CouponResponse> createBuckets(
+            @PathVariable Long couponId,
+            @RequestParam Integer count) {
+        couponServiceSharded.createBuckets(couponId, count);
+        return ResponseEntity.ok(couponQueryService.getCouponFromDb(couponId));
+    }
+
+    /**
+     * 사용자 목록(NDJSON / CSV)에 쿠폰 대량 발급
+     * 목록을 스트림으로 읽으며 청크마다 진행 상황을 NDJSON 한 줄씩 응답
+     */
+    @PostMapping(value = "/{couponId}/bulk-issue",
+            consumes = {"application/x-ndjson", "text/csv", MediaType.TEXT_PLAIN_VALUE},
+            produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> bulkIssue(
+            @PathVariable Long couponId,
+            HttpServletRequest request) throws IOException {
+        couponBulkIssueService.validate(couponId);
+        InputStream userIds = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> couponBulkIssueService.bulkIssue(couponId, userIds, out));
     }
 
     /**
@@ -52,11 +141,15 @@ public class CouponController {
      */
     @PostMapping("/sync/issue")
     public ResponseEntity<CouponIssueResponse> issueCouponSync(@RequestBody CouponIssueRequest request) {
-        CouponIssueResponse response = couponServiceSync.issueCoupon(
-                request.getCouponId(), 
-                request.getUserId()
-        );
-        return ResponseEntity.ok(response);
+        return issue(request, "sync", couponServiceSync::issueCoupon);
+    }
+
+    /**
+     * 쿠폰별 분할 락(ReentrantLock)을 사용한 쿠폰 발급 (단일 서버)
+     */
+    @PostMapping("/striped-lock/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponStripedLock(@RequestBody CouponIssueRequest request) {
+        return issue(request, "striped-lock", couponServiceStripedLock::issueCoupon);
     }
 
     /**
@@ -64,11 +157,7 @@ public class CouponController {
      */
     @PostMapping("/pessimistic/issue")
     public ResponseEntity<CouponIssueResponse> issueCouponPessimistic(@RequestBody CouponIssueRequest request) {
-        CouponIssueResponse response = couponServicePessimistic.issueCoupon(
-                request.getCouponId(), 
-                request.getUserId()
-        );
-        return ResponseEntity.ok(response);
+        return issue(request, "pessimistic", couponServicePessimistic::issueCoupon);
     }
 
     /**
@@ -76,10 +165,153 @@ public class CouponController {
      */
     @PostMapping("/optimistic/issue")
     public ResponseEntity<CouponIssueResponse> issueCouponOptimistic(@RequestBody CouponIssueRequest request) {
-        CouponIssueResponse response = couponServiceOptimistic.issueCouponWithRetry(
-                request.getCouponId(), 
-                request.getUserId()
-        );
+        return issue(request, "optimistic", couponServiceOptimistic::issueCouponWithRetry);
+    }
+
+    /**
+     * 충돌률에 따라 낙관적 락 / 비관적 락을 쿠폰별로 바꾸는 쿠폰 발급
+     */
+    @PostMapping("/hybrid/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponHybrid(@RequestBody CouponIssueRequest request) {
+        return issue(request, "hybrid", couponServiceHybrid::issueCoupon);
+    }
+
+    /**
+     * 조건부 UPDATE를 사용한 쿠폰 발급
+     */
+    @PostMapping("/conditional/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponConditional(@RequestBody CouponIssueRequest request) {
+        return issue(request, "conditional", couponServiceConditional::issueCoupon);
+    }
+
+    /**
+     * 발급 이력을 먼저 저장하고 유니크 인덱스로 중복을 걸러내는 조건부 UPDATE 쿠폰 발급
+     */
+    @PostMapping("/conditional/insert-first/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponInsertFirst(@RequestBody CouponIssueRequest request) {
+        return issue(request, "insert-first", couponServiceConditional::issueCouponInsertFirst);
+    }
+
+    /**
+     * Redis Lua 스크립트를 사용한 쿠폰 발급
+     */
+    @PostMapping("/redis/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponRedis(@RequestBody CouponIssueRequest request) {
+        return issue(request, "redis", couponServiceRedis::issueCoupon);
+    }
+
+    /**
+     * Redis Lua 스크립트 + 발급 이력 비동기 저장(write-behind)을 사용한 쿠폰 발급
+     */
+    @PostMapping("/redis/async/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponRedisAsync(@RequestBody CouponIssueRequest request) {
+        return issue(request, "redis-async", couponServiceRedis::issueCouponAsync);
+    }
+
+    /**
+     * 재고 분할 버킷을 사용한 쿠폰 발급
+     */
+    @PostMapping("/sharded/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponSharded(@RequestBody CouponIssueRequest request) {
+        return issue(request, "sharded", couponServiceSharded::issueCoupon);
+    }
+
+    /**
+     * 여러 발급 요청을 모아 한 트랜잭션으로 처리하는 쿠폰 발급 (single writer)
+     */
+    @PostMapping("/coalesced/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponCoalesced(@RequestBody CouponIssueRequest request) {
+        return issue(request, "coalesced", couponServiceCoalesced::issueCoupon);
+    }
+
+    /**
+     * 인메모리 발급 엔진을 사용한 쿠폰 발급 (발급 이력은 비동기 저장)
+     */
+    @PostMapping("/in-memory/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponInMemory(@RequestBody CouponIssueRequest request) {
+        return issue(request, "in-memory", couponServiceInMemory::issueCoupon);
+    }
+
+    /**
+     * MySQL 네임드 락을 사용한 쿠폰 발급
+     */
+    @PostMapping("/named-lock/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponNamedLock(@RequestBody CouponIssueRequest request) {
+        return issue(request, "named-lock", couponNamedLockFacade::issueCoupon);
+    }
+
+    /**
+     * Redis 분산 락을 사용한 쿠폰 발급
+     */
+    @PostMapping("/redis-lock/issue")
+    public ResponseEntity<CouponIssueResponse> issueCouponRedisLock(@RequestBody CouponIssueRequest request) {
+        return issue(request, "redis-lock", couponRedisLockFacade::issueCoupon);
+    }
+
+    /**
+     * 대기열 입장 (발급은 스케줄러가 도착 순서대로 처리)
+     */
+    @PostMapping("/waiting-room/enter")
+    public ResponseEntity<WaitingRoomResponse> enterWaitingRoom(@RequestBody CouponIssueRequest request) {
+        return ResponseEntity.ok(couponWaitingRoomService.enter(request.getCouponId(), request.getUserId()));
+    }
+
+    /**
+     * 대기 순서 또는 발급 결과 조회 (클라이언트 폴링용)
+     */
+    @GetMapping("/{couponId}/waiting-room/position")
+    public ResponseEntity<WaitingRoomResponse> getWaitingRoomPosition(
+            @PathVariable Long couponId,
+            @RequestParam Long userId) {
+        return ResponseEntity.ok(couponWaitingRoomService.position(couponId, userId));
+    }
+
+    /**
+     * 공통 발급 처리
+     * 재고 소진이 확인된 쿠폰은 발급 전략을 호출하지 않고(트랜잭션, 락, DB 조회 없이) 바로 거절
+     * 재고 분할 쿠폰을 다른 전략으로 요청하면 소진이 아닌 재고 분할 응답 (소진 표시 / 남은 수량 반영 없음)
+     * 처리 한도를 넘는 요청은 대기시키지 않고 바로 429 응답 (수락된 요청의 응답 시간 유지)
+     * 발급 결과와 처리 시간은 strategy 태그로 coupon.issue 지표에 기록
+     * 남은 수량은 조회 캐시와 SSE 스트림에 반영
+     */
+    private ResponseEntity<CouponIssueResponse> issue(CouponIssueRequest request, String strategyName,
+                                                      BiFunction<Long, Long, CouponIssueResponse> strategy) {
+        long start = System.nanoTime();
+        Long couponId = request.getCouponId();
+        if (soldOutCache.isSoldOut(couponId)) {
+            CouponIssueResponse response = CouponIssueResponse.soldOut();
+            issueMetrics.recordIssue(strategyName, couponId, response, System.nanoTime() - start);
+            return ResponseEntity.ok(response);
+        }
+
+        if (!admissionControl.tryAcquire(couponId)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(CouponIssueResponse.fail("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."));
+        }
+
+        // 재고를 확인하기 전의 소진 표시 세대 (그 사이 수량이 늘어나면 소진 표시하지 않음)
+        long soldOutEpoch = soldOutCache.epoch(couponId);
+        long stockVersion = couponStockStream.version(couponId);
+        CouponIssueResponse response;
+        long admittedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            response = strategy.apply(couponId, request.getUserId());
+            failed = false;
+        } finally {
+            admissionControl.release(System.nanoTime() - admittedAt, failed);
+        }
+        if (!"sharded".equals(strategyName)) {
+            response = couponServiceSharded.rejectIfSharded(couponId, response);
+        }
+        issueMetrics.recordIssue(strategyName, couponId, response, System.nanoTime() - start);
+        if (response.isSoldOut()) {
+            soldOutCache.markSoldOut(couponId, soldOutEpoch);
+        }
+        if (response.getRemainingQuantity() != null) {
+            couponQueryService.refresh(couponId, response.getRemainingQuantity());
+            couponStockStream.publish(couponId, response.getRemainingQuantity(), stockVersion);
+        }
         return ResponseEntity.ok(response);
     }
 }
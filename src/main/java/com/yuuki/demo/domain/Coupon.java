@@ -27,6 +27,13 @@ public class Coupon {
     @Column(nullable = false)
     private Integer issuedQuantity;
 
+    /**
+     * 재고 분할 버킷으로 옮긴 수량 (0 이면 분할하지 않은 쿠폰)
+     * 총 수량은 그대로 두고, 쿠폰 행에서는 이 수량만큼 발급하지 않음
+     */
+    @Column(nullable = false)
+    private Integer shardedQuantity;
+
     @Version  // 낙관적 락을 위한 버전
     private Long version;
 
@@ -41,6 +48,7 @@ public class Coupon {
         this.name = name;
         this.totalQuantity = totalQuantity;
         this.issuedQuantity = 0;
+        this.shardedQuantity = 0;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -49,7 +57,14 @@ public class Coupon {
      * 쿠폰 발급 가능 여부 확인
      */
     public boolean canIssue() {
-        return issuedQuantity < totalQuantity;
+        return getRemainingQuantity() > 0;
+    }
+
+    /**
+     * 재고가 분할된 쿠폰 여부 (분할한 재고는 재고 분할 전략으로만 발급)
+     */
+    public boolean isSharded() {
+        return shardedQuantity > 0;
     }
 
     /**
@@ -64,9 +79,41 @@ public class Coupon {
     }
 
     /**
-     * 남은 쿠폰 수량
+     * 쿠폰 총 수량 증가
+     */
+    public void increaseTotalQuantity(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("늘릴 수량은 1 이상이어야 합니다.");
+        }
+        if (isSharded()) {
+            throw new IllegalStateException("재고가 분할된 쿠폰은 수량을 늘릴 수 없습니다.");
+        }
+        this.totalQuantity += amount;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 남은 수량을 재고 분할 버킷으로 옮김 (총 수량은 그대로)
+     *
+     * @return 옮긴 수량
+     */
+    public int shard() {
+        if (isSharded()) {
+            throw new IllegalStateException("이미 재고가 분할된 쿠폰입니다.");
+        }
+        int remaining = getRemainingQuantity();
+        if (remaining <= 0) {
+            throw new IllegalStateException("남은 재고가 없는 쿠폰은 분할할 수 없습니다.");
+        }
+        this.shardedQuantity = remaining;
+        this.updatedAt = LocalDateTime.now();
+        return remaining;
+    }
+
+    /**
+     * 쿠폰 행에서 발급할 수 있는 남은 수량 (버킷으로 옮긴 수량 제외)
      */
     public int getRemainingQuantity() {
-        return totalQuantity - issuedQuantity;
+        return totalQuantity - issuedQuantity - shardedQuantity;
     }
 }
@@ -1,5 +1,6 @@
 package com.yuuki.demo.domain;
 
+import com.yuuki.demo.domain.id.Tsid;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 public class CouponIssue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid  // IDENTITY 사용 시 Hibernate 배치 INSERT가 꺼지므로 시간 순서 ID 사용
     private Long id;
 
     @Column(nullable = false)
@@ -28,10 +29,13 @@ public class CouponIssue {
     @Column(nullable = false, updatable = false)
     private LocalDateTime issuedAt;
 
+    /**
+     * @param issuedAt 비우면 현재 시각 (저장하지 못한 이력을 다시 저장할 때만 원래 발급 시각 지정)
+     */
     @Builder
-    public CouponIssue(Long couponId, Long userId) {
+    public CouponIssue(Long couponId, Long userId, LocalDateTime issuedAt) {
         this.couponId = couponId;
         this.userId = userId;
-        this.issuedAt = LocalDateTime.now();
+        this.issuedAt = issuedAt != null ? issuedAt : LocalDateTime.now();
     }
 }
@@ -0,0 +1,43 @@
+package com.yuuki.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 재고 분할 버킷
+ * 인기 쿠폰의 재고를 여러 행으로 나눠 하나의 쿠폰 행에 락이 몰리지 않도록 함
+ */
+@Entity
+@Table(name = "coupon_stock_bucket",
+        indexes = @Index(name = "idx_coupon_bucket", columnList = "coupon_id,bucket_index", unique = true))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponStockBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long couponId;
+
+    @Column(nullable = false)
+    private Integer bucketIndex;
+
+    @Column(nullable = false)
+    private Integer totalQuantity;
+
+    @Column(nullable = false)
+    private Integer issuedQuantity;
+
+    @Builder
+    public CouponStockBucket(Long couponId, Integer bucketIndex, Integer totalQuantity) {
+        this.couponId = couponId;
+        this.bucketIndex = bucketIndex;
+        this.totalQuantity = totalQuantity;
+        this.issuedQuantity = 0;
+    }
+}
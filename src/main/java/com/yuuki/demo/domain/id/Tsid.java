@@ -0,0 +1,18 @@
+package com.yuuki.demo.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 시간 순서 ID(TSID) 생성
+ * IDENTITY 와 달리 INSERT 전에 ID를 알 수 있으므로 Hibernate JDBC 배치 INSERT 가능
+ */
+@IdGeneratorType(TsidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Tsid {
+}
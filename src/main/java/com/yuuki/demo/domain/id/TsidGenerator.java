@@ -0,0 +1,15 @@
+package com.yuuki.demo.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * {@link Tsid} 가 붙은 엔티티 ID 생성기
+ */
+public class TsidGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TsidFactory.next();
+    }
+}
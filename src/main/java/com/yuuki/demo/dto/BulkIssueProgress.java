@@ -0,0 +1,28 @@
+package com.yuuki.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대량 발급 진행 상황 (청크마다 한 줄씩 NDJSON 으로 응답)
+ * 마지막 줄은 done=true 인 전체 합계
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkIssueProgress {
+
+    private boolean done;
+    private int chunks;
+    private long received;
+    private long issued;
+    private long duplicated;
+    private long soldOut;
+    /**
+     * 사용자 ID 로 읽을 수 없어 건너뛴 값 (잘못된 JSON, 숫자가 아닌 ID 등)
+     */
+    private long invalid;
+    private Integer remainingQuantity;
+    private String error;
+}
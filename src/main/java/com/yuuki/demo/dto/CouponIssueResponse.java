@@ -1,11 +1,20 @@
 package com.yuuki.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.yuuki.demo.domain.Coupon;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
+@NoArgsConstructor
 @AllArgsConstructor
 public class CouponIssueResponse {
+
+    private static final String SOLD_OUT_MESSAGE = "쿠폰이 모두 발급되었습니다.";
+    private static final String DUPLICATE_MESSAGE = "이미 발급받은 쿠폰입니다.";
+    private static final String SHARDED_MESSAGE = "재고가 분할된 쿠폰입니다. 재고 분할 발급(/sharded/issue)을 사용해주세요.";
+
     private boolean success;
     private String message;
     private Long couponIssueId;
@@ -19,4 +28,50 @@ public class CouponIssueResponse {
     public static CouponIssueResponse fail(String message) {
         return new CouponIssueResponse(false, message, null, null);
     }
+
+    public static CouponIssueResponse soldOut() {
+        return new CouponIssueResponse(false, SOLD_OUT_MESSAGE, null, 0);
+    }
+
+    public static CouponIssueResponse duplicate() {
+        return new CouponIssueResponse(false, DUPLICATE_MESSAGE, null, null);
+    }
+
+    /**
+     * 재고가 분할된 쿠폰을 다른 전략으로 요청한 경우 (재고 소진이 아님)
+     */
+    public static CouponIssueResponse sharded() {
+        return new CouponIssueResponse(false, SHARDED_MESSAGE, null, null);
+    }
+
+    /**
+     * 쿠폰 행에서 발급할 수 없을 때의 응답 (재고 분할 쿠폰이면 소진 대신 분할 응답)
+     */
+    public static CouponIssueResponse unavailable(Coupon coupon) {
+        return coupon.isSharded() ? sharded() : soldOut();
+    }
+
+    /**
+     * 재고 소진으로 실패했거나, 이번 발급으로 재고가 모두 소진되었는지 여부
+     */
+    @JsonIgnore
+    public boolean isSoldOut() {
+        return success ? remainingQuantity != null && remainingQuantity == 0 : SOLD_OUT_MESSAGE.equals(message);
+    }
+
+    /**
+     * 재고 분할 쿠폰이라 다른 전략으로 발급하지 못했는지 여부
+     */
+    @JsonIgnore
+    public boolean isSharded() {
+        return !success && SHARDED_MESSAGE.equals(message);
+    }
+
+    /**
+     * 이미 발급받은 사용자라서 실패했는지 여부
+     */
+    @JsonIgnore
+    public boolean isDuplicate() {
+        return !success && DUPLICATE_MESSAGE.equals(message);
+    }
 }
@@ -3,8 +3,10 @@ package com.yuuki.demo.dto;
 import com.yuuki.demo.domain.Coupon;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
+@NoArgsConstructor
 @AllArgsConstructor
 public class CouponResponse {
     private Long id;
@@ -22,4 +24,24 @@ public class CouponResponse {
                 coupon.getRemainingQuantity()
         );
     }
+
+    /**
+     * 재고 분할 쿠폰처럼 총 수량 / 발급 수량을 따로 집계한 경우
+     */
+    public static CouponResponse of(Coupon coupon, int totalQuantity, int issuedQuantity) {
+        return new CouponResponse(
+                coupon.getId(),
+                coupon.getName(),
+                totalQuantity,
+                issuedQuantity,
+                totalQuantity - issuedQuantity
+        );
+    }
+
+    /**
+     * 남은 수량만 바꾼 응답
+     */
+    public CouponResponse withRemainingQuantity(int remainingQuantity) {
+        return new CouponResponse(id, name, totalQuantity, totalQuantity - remainingQuantity, remainingQuantity);
+    }
 }
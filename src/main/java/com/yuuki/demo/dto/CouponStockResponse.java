@@ -0,0 +1,14 @@
+package com.yuuki.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * SSE 로 보내는 쿠폰 남은 수량
+ */
+@Getter
+@AllArgsConstructor
+public class CouponStockResponse {
+    private Long couponId;
+    private Integer remainingQuantity;
+}
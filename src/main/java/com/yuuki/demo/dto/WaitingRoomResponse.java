@@ -0,0 +1,48 @@
+package com.yuuki.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 대기열 상태
+ *
+ * - WAITING: 대기 중 (position: 앞에 남은 사용자 수)
+ * - DONE: 발급 처리 완료 (result: 발급 결과)
+ * - SOLD_OUT: 차례가 오기 전에 재고 소진
+ * - NOT_FOUND: 대기열에 없음
+ * - CLOSED: 대기열을 사용하지 않음 (coupon.waiting-room.enabled=false, 입장 거절)
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitingRoomResponse {
+
+    public enum Status {
+        WAITING, DONE, SOLD_OUT, NOT_FOUND, CLOSED
+    }
+
+    private Status status;
+    private Long position;
+    private CouponIssueResponse result;
+
+    public static WaitingRoomResponse waiting(long position) {
+        return new WaitingRoomResponse(Status.WAITING, position, null);
+    }
+
+    public static WaitingRoomResponse done(CouponIssueResponse result) {
+        return new WaitingRoomResponse(Status.DONE, null, result);
+    }
+
+    public static WaitingRoomResponse soldOut() {
+        return new WaitingRoomResponse(Status.SOLD_OUT, null, null);
+    }
+
+    public static WaitingRoomResponse notFound() {
+        return new WaitingRoomResponse(Status.NOT_FOUND, null, null);
+    }
+
+    public static WaitingRoomResponse closed() {
+        return new WaitingRoomResponse(Status.CLOSED, null, null);
+    }
+}
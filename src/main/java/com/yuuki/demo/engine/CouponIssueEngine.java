@@ -0,0 +1,277 @@
+package com.yuuki.demo.engine;
+
+import com.yuuki.demo.config.InMemoryEngineProperties;
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
+import com.yuuki.demo.repository.CouponIssueJdbcRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 인메모리 발급 엔진
+ *
+ * 쿠폰별 남은 수량(AtomicInteger)과 발급받은 사용자 집합(LongHashSet)을 메모리에 두고
+ * 재고 확인 / 중복 확인 / 차감을 DB 조회 없이 처리
+ *
+ * - 사용자 집합은 userId 기준으로 segments 개로 나누고 구간마다 락 하나 (같은 구간의 사용자끼리만 대기)
+ * - 남은 수량은 구간 락과 별개로 CAS 로 차감 (쿠폰 전체에서 공유)
+ * - 시작 시(coupon.in-memory.preload) 또는 첫 요청 시 DB 기준으로 적재
+ *   쿠폰마다 적재 결과(CompletableFuture)를 먼저 등록하고 맵 밖에서 적재
+ *   (같은 쿠폰의 요청만 적재를 기다리고, 다른 쿠폰은 맵 락에 막히지 않음)
+ *
+ * 이 인스턴스만 발급한다고 가정 (여러 인스턴스가 같은 쿠폰을 발급하면 수량이 어긋남)
+ * 같은 쿠폰을 다른 전략으로 동시에 발급해도 엔진 상태에는 반영되지 않음
+ */
+@Slf4j
+@Component
+public class CouponIssueEngine {
+
+    public static final long DUPLICATED = -1;
+    public static final long SOLD_OUT = -2;
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueJdbcRepository couponIssueJdbcRepository;
+    private final InMemoryEngineProperties properties;
+    private final Map<Long, CompletableFuture<CouponState>> states = new ConcurrentHashMap<>();
+
+    public CouponIssueEngine(CouponRepository couponRepository,
+                             CouponIssueJdbcRepository couponIssueJdbcRepository,
+                             InMemoryEngineProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.couponIssueJdbcRepository = couponIssueJdbcRepository;
+        this.properties = properties;
+
+        Gauge.builder("coupon.in-memory.users", this, CouponIssueEngine::issuedUsers)
+                .description("인메모리 엔진에 적재된 발급 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("coupon.in-memory.bytes", this, CouponIssueEngine::tableBytes)
+                .description("인메모리 엔진의 발급 사용자 집합 배열 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재고가 남은 쿠폰을 미리 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!properties.isPreload()) {
+            return;
+        }
+        List<Long> couponIds = couponRepository.findIssuableIds();
+        couponIds.forEach(this::state);
+        log.info("인메모리 발급 엔진 적재 완료 - 쿠폰 수: {}, 발급 사용자 수: {}", couponIds.size(), (long) issuedUsers());
+    }
+
+    /**
+     * 재고 확인 + 중복 확인 + 차감
+     *
+     * @return 발급 후 남은 수량, 실패 시 DUPLICATED / SOLD_OUT
+     */
+    public long tryIssue(Long couponId, long userId) {
+        CouponState state = state(couponId);
+        Segment segment = state.segment(userId);
+
+        segment.lock.lock();
+        try {
+            // 1. 중복 확인
+            if (segment.users.contains(userId)) {
+                return DUPLICATED;
+            }
+
+            // 2. 남은 수량 CAS 차감
+            int remaining;
+            do {
+                remaining = state.remaining.get();
+                if (remaining <= 0) {
+                    return SOLD_OUT;
+                }
+            } while (!state.remaining.compareAndSet(remaining, remaining - 1));
+
+            // 3. 발급 사용자 등록
+            segment.users.add(userId);
+            return remaining - 1;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 발급 취소 (DB 반영에 실패한 경우)
+     */
+    public void cancel(Long couponId, long userId) {
+        CouponState state = loaded(couponId);
+        if (state == null) {
+            return;
+        }
+        Segment segment = state.segment(userId);
+        segment.lock.lock();
+        try {
+            if (segment.users.remove(userId)) {
+                state.remaining.incrementAndGet();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 저널에서 복구한 발급 반영 (DB 에 아직 반영되지 않았을 수 있는 발급)
+     * 이미 DB 에서 적재한 사용자면 무시
+     */
+    public void replay(Long couponId, long userId) {
+        CouponState state = state(couponId);
+        Segment segment = state.segment(userId);
+        segment.lock.lock();
+        try {
+            if (segment.users.add(userId)) {
+                state.remaining.decrementAndGet();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 쿠폰 수량이 늘어나면 적재된 남은 수량도 증가
+     */
+    @TransactionalEventListener
+    public void onQuantityIncreased(CouponQuantityIncreasedEvent event) {
+        CouponState state = loaded(event.couponId());
+        if (state != null) {
+            state.remaining.addAndGet(event.amount());
+        }
+    }
+
+    /**
+     * 적재된 상태 삭제 (다음 요청 시 DB 기준으로 다시 적재)
+     */
+    public void evict(Long couponId) {
+        states.remove(couponId);
+    }
+
+    /**
+     * 적재된 상태 (적재 중이면 끝날 때까지 대기)
+     * 처음 요청한 스레드만 적재하고, 실패하면 등록을 지워 다음 요청이 다시 적재
+     */
+    private CouponState state(Long couponId) {
+        CompletableFuture<CouponState> future = states.get(couponId);
+        if (future == null) {
+            CompletableFuture<CouponState> loading = new CompletableFuture<>();
+            future = states.putIfAbsent(couponId, loading);
+            if (future == null) {
+                try {
+                    CouponState state = load(couponId);
+                    loading.complete(state);
+                    return state;
+                } catch (RuntimeException | Error e) {
+                    states.remove(couponId, loading);
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 적재가 끝난 상태만 (적재 전이거나 적재 중이면 null)
+     */
+    private CouponState loaded(Long couponId) {
+        return loaded(states.get(couponId));
+    }
+
+    private static CouponState loaded(CompletableFuture<CouponState> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private CouponState load(Long couponId) {
+        Coupon coupon = couponRepository.findById(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+
+        // 구간 수는 2의 거듭제곱으로 맞춤
+        int segmentCount = Integer.highestOneBit(Math.max(1, properties.getSegments()));
+        CouponState state = new CouponState(coupon.getRemainingQuantity(), segmentCount,
+                coupon.getTotalQuantity() / segmentCount);
+
+        // 아직 공유되기 전이므로 락 없이 적재
+        couponIssueJdbcRepository.forEachUserId(couponId, userId -> state.segment(userId).users.add(userId));
+        log.info("인메모리 발급 엔진 쿠폰 적재 - couponId: {}, 남은 수량: {}", couponId, coupon.getRemainingQuantity());
+        return state;
+    }
+
+    private double issuedUsers() {
+        long users = 0;
+        for (CompletableFuture<CouponState> future : states.values()) {
+            CouponState state = loaded(future);
+            if (state == null) {
+                continue;
+            }
+            for (Segment segment : state.segments) {
+                users += segment.users.size();
+            }
+        }
+        return users;
+    }
+
+    private double tableBytes() {
+        long bytes = 0;
+        for (CompletableFuture<CouponState> future : states.values()) {
+            CouponState state = loaded(future);
+            if (state == null) {
+                continue;
+            }
+            for (Segment segment : state.segments) {
+                bytes += segment.users.tableBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static final class CouponState {
+        private final AtomicInteger remaining;
+        private final Segment[] segments;
+        private final int mask;
+
+        private CouponState(int remaining, int segmentCount, int expectedUsersPerSegment) {
+            this.remaining = new AtomicInteger(remaining);
+            this.segments = new Segment[segmentCount];
+            this.mask = segmentCount - 1;
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = new Segment(expectedUsersPerSegment);
+            }
+        }
+
+        private Segment segment(long userId) {
+            return segments[Long.hashCode(userId) & mask];
+        }
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongHashSet users;
+
+        private Segment(int expectedUsers) {
+            this.users = new LongHashSet(expectedUsers);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.yuuki.demo.engine;
+
+/**
+ * long 전용 해시 집합 (open addressing, linear probing)
+ *
+ * HashSet<Long> 은 원소마다 Long 객체 + HashMap.Node 를 만들어 원소당 수십 바이트를 쓰지만,
+ * long[] 배열 하나에 값을 그대로 저장하므로 원소당 8 / loadFactor 바이트만 사용하고 조회/추가 시 객체를 만들지 않음
+ *
+ * - 빈 칸은 0 으로 표시하고, 값 0 은 별도 플래그로 저장
+ * - 삭제 시 뒤따르는 원소를 앞으로 당겨(backward shift) 삭제 표시(tombstone) 없이 탐색 거리 유지
+ * - 스레드 안전하지 않음 (호출하는 쪽에서 잠금)
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 크기를 늘리지 않고 담을 수 있는 원소 수
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(tableSizeFor((int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(expectedSize / LOAD_FACTOR))));
+    }
+
+    /**
+     * @return 새로 추가했으면 true, 이미 있으면 false
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int index = index(value);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        if (++size > resizeThreshold) {
+            resize(table.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int index = index(value);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return 삭제했으면 true, 없었으면 false
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+
+        int index = index(value);
+        while (table[index] != value) {
+            if (table[index] == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        shiftBack(index);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 값을 저장하는 배열이 차지하는 바이트 수 (배열 헤더 제외)
+     */
+    public long tableBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    /**
+     * 비워진 칸(gap)을 채우기 위해 뒤따르는 원소 중 원래 자리가 gap 이하인 원소를 앞으로 당김
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long value = table[index];
+            if (value == EMPTY) {
+                table[gap] = EMPTY;
+                return;
+            }
+            int home = index(value);
+            // home 이 (gap, index] 구간(원형)에 있으면 그대로 두어야 탐색 가능
+            boolean stays = gap <= index
+                    ? gap < home && home <= index
+                    : gap < home || home <= index;
+            if (!stays) {
+                table[gap] = value;
+                gap = index;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = index(value);
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * 연속된 사용자 ID 가 인접한 칸에 몰리지 않도록 곱셈 해시로 섞어서 사용
+     */
+    private int index(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(MIN_CAPACITY, capacity) - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("용량이 너무 큽니다: " + capacity);
+        }
+        return size;
+    }
+}
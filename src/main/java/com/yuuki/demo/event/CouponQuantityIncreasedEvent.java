@@ -0,0 +1,11 @@
+package com.yuuki.demo.event;
+
+/**
+ * 쿠폰 총 수량 증가 이벤트 (커밋 후 처리)
+ *
+ * @param couponId      쿠폰 ID
+ * @param amount        늘어난 수량
+ * @param totalQuantity 늘어난 뒤 총 수량
+ */
+public record CouponQuantityIncreasedEvent(Long couponId, int amount, int totalQuantity) {
+}
@@ -1,27 +1,47 @@
 package com.yuuki.demo.facade;
 
+import com.yuuki.demo.config.NamedLockProperties;
 import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
 import com.yuuki.demo.repository.LockRepository;
 import com.yuuki.demo.service.CouponService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * MySQL 네임드 락을 사용한 쿠폰 발급
+ *
+ * - 락은 락 전용 커넥션 풀에서, 발급 트랜잭션은 일반 커넥션 풀에서 커넥션을 가져옴
+ *   (같은 풀에서 요청당 커넥션 두 개를 잡으면 풀 크기의 절반 이상 동시 요청에서 풀이 고갈되어 멈춤)
+ * - GET_LOCK 결과를 확인하여 대기 시간 안에 락을 잡지 못하면 발급하지 않음
+ */
 @Component
 @RequiredArgsConstructor
 public class CouponNamedLockFacade {
 
     private final LockRepository lockRepository;
     private final CouponService couponService;
+    private final NamedLockProperties properties;
+    private final CouponIssueMetrics issueMetrics;
 
-    @Transactional
-    public void issueCoupon(Long couponId, Long userId) {
-        try{
-            lockRepository.getLock(couponId.toString());
-            couponService.issueCoupon(couponId, userId);
-        } finally {
-            lockRepository.releaseLock(couponId.toString());
-        }
-
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        long lockRequestedAt = System.nanoTime();
+        return lockRepository.executeWithLock(
+                "coupon:" + couponId,
+                properties.getWaitTimeout(),
+                () -> {
+                    long lockAcquiredAt = System.nanoTime();
+                    issueMetrics.recordLockWait("named-lock", couponId, lockAcquiredAt - lockRequestedAt);
+                    try {
+                        return couponService.issueCoupon(couponId, userId);
+                    } finally {
+                        issueMetrics.recordLockHold("named-lock", couponId, System.nanoTime() - lockAcquiredAt);
+                    }
+                },
+                () -> {
+                    issueMetrics.recordLockWait("named-lock", couponId, System.nanoTime() - lockRequestedAt);
+                    return CouponIssueResponse.fail("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+                }
+        );
     }
 }
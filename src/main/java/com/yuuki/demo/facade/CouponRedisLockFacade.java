@@ -0,0 +1,49 @@
+package com.yuuki.demo.facade;
+
+import com.yuuki.demo.config.RedisLockProperties;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.repository.RedisLockRepository;
+import com.yuuki.demo.service.CouponService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 분산 락을 사용한 쿠폰 발급
+ *
+ * MySQL 네임드 락(GET_LOCK)과 달리 락을 잡는 동안 DB 커넥션을 점유하지 않음
+ * 트랜잭션은 CouponService 에서만 시작하므로 요청당 커넥션 하나만 사용
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponRedisLockFacade {
+
+    private final RedisLockRepository redisLockRepository;
+    private final CouponService couponService;
+    private final RedisLockProperties properties;
+    private final CouponIssueMetrics issueMetrics;
+
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        String key = "coupon:lock:" + couponId;
+        String token;
+        long lockRequestedAt = System.nanoTime();
+        try {
+            token = redisLockRepository.lock(key, properties.getWaitTime(), properties.getLeaseTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CouponIssueResponse.fail("쿠폰 발급 중 오류가 발생했습니다.");
+        }
+        long lockAcquiredAt = System.nanoTime();
+        issueMetrics.recordLockWait("redis-lock", couponId, lockAcquiredAt - lockRequestedAt);
+        if (token == null) {
+            return CouponIssueResponse.fail("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return couponService.issueCoupon(couponId, userId);
+        } finally {
+            redisLockRepository.unlock(key, token);
+            issueMetrics.recordLockHold("redis-lock", couponId, System.nanoTime() - lockAcquiredAt);
+        }
+    }
+}
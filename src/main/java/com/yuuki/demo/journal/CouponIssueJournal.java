@@ -0,0 +1,505 @@
+package com.yuuki.demo.journal;
+
+import com.yuuki.demo.config.JournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 쿠폰 발급 저널 (메모리 매핑 append-only 파일)
+ *
+ * 발급 결정(couponId, userId, 발급 시각)을 고정 길이 기록으로 세그먼트 파일에 순서대로 추가
+ *
+ * - 기록 형식 (32 bytes): couponId(8) + userId(8) + issuedAt(8) + CRC32C(4) + 기록 표시(4)
+ *   CRC 가 맞지 않거나 기록 표시가 없는 기록은 유효하지 않은 기록
+ *   - 마지막 유효 기록 뒤에만 있으면 쓰다가 종료된 기록(torn tail)으로 보고 그 자리부터 이어서 기록
+ *   - 유효 기록 사이에 있으면 손상된 기록으로 보고 격리 파일(quarantine)에 원본을 남긴 뒤 건너뜀
+ *     (coupon.journal.corrupted 지표, 복구 / DB 반영이 손상된 기록에서 멈추지 않음)
+ * - group commit: 기록은 메모리 매핑 영역에 바로 쓰고, 별도 스레드가 fsync(force) 한 번으로
+ *   그동안 쌓인 기록을 모두 디스크에 반영한 뒤 기다리던 요청을 한꺼번에 완료
+ * - fsync 가 실패하면 그 세그먼트에서 반영을 기다리던 기록의 기록 표시를 취소 표시로 바꾸고 요청을 실패로 완료
+ *   취소된 기록은 복구 / DB 반영에서 제외 (취소 표시는 다음 fsync 에 함께 반영)
+ * - 세그먼트가 가득 차면 fsync 후 새 세그먼트 생성 (파일 이름은 첫 기록의 순번)
+ *   새 세그먼트 파일과 체크포인트 파일 이름 변경은 파일과 디렉터리까지 fsync
+ * - 체크포인트: DB 반영이 끝난 순번, 체크포인트 이전만 담은 세그먼트는 삭제
+ */
+@Slf4j
+@Component
+public class CouponIssueJournal {
+
+    static final int RECORD_SIZE = 32;
+    private static final int RECORD_MARKER = 0x4A524E31;
+    private static final int ABORTED_MARKER = 0x4A524E30;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String QUARANTINE_FILE = "quarantine";
+    private static final int REPLAY_BATCH_SIZE = 10_000;
+
+    private final JournalProperties properties;
+    private final Timer fsyncTimer;
+    private final DistributionSummary groupCommitSize;
+    private final Counter corruptedCounter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final List<Segment> segments = new ArrayList<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final Set<Long> quarantined = ConcurrentHashMap.newKeySet();
+
+    private Path directory;
+    private Segment current;
+    private long nextSequence;
+    private long flushedSequence;
+    private volatile long checkpointSequence;
+    private volatile boolean open;
+    private Thread flusher;
+
+    public CouponIssueJournal(JournalProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.fsyncTimer = Timer.builder("coupon.journal.fsync")
+                .description("저널 fsync 시간")
+                .register(meterRegistry);
+        this.groupCommitSize = DistributionSummary.builder("coupon.journal.group-commit.size")
+                .description("fsync 한 번에 반영된 기록 수")
+                .register(meterRegistry);
+        this.corruptedCounter = Counter.builder("coupon.journal.corrupted")
+                .description("손상되어 격리한 저널 기록 수")
+                .register(meterRegistry);
+        Gauge.builder("coupon.journal.pending", this, journal -> journal.nextSequence - journal.checkpointSequence)
+                .description("DB 에 아직 반영되지 않은 저널 기록 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 세그먼트를 열고 마지막 유효 기록 다음부터 이어서 기록 (그 뒤의 쓰다가 종료된 기록은 덮어씀)
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        checkpointSequence = readCheckpoint();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(CouponIssueJournal::firstSequence))
+                    .toList()) {
+                int capacity = (int) (Files.size(path) / RECORD_SIZE);
+                if (capacity == 0) {
+                    // 만들다가 종료된 빈 세그먼트
+                    Files.delete(path);
+                    continue;
+                }
+                segments.add(Segment.map(path, firstSequence(path), capacity));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            current = createSegment(checkpointSequence);
+            nextSequence = checkpointSequence;
+        } else {
+            // 마지막 세그먼트만 쓰다가 종료되었을 수 있음 (이전 세그먼트는 fsync 후 넘어감)
+            // 세그먼트 전체를 확인해 마지막 유효(또는 취소된) 기록을 찾고, 그 앞의 유효하지 않은 기록은 손상으로 집계
+            current = segments.get(segments.size() - 1);
+            int end = 0;
+            int valid = 0;
+            for (int index = 0; index < current.capacity; index++) {
+                if (read(current, index) != null || isAborted(current, index)) {
+                    end = index + 1;
+                    valid++;
+                }
+            }
+            int corrupted = end - valid;
+            if (corrupted > 0) {
+                log.error("마지막 세그먼트에 손상된 저널 기록 {}건 - 세그먼트: {} (조회 시 격리)", corrupted, current.path);
+            }
+            nextSequence = current.firstSequence + end;
+        }
+        flushedSequence = nextSequence;
+        open = true;
+
+        flusher = new Thread(this::flushLoop, "coupon-journal-flusher");
+        flusher.start();
+        log.info("발급 저널 열기 - 디렉터리: {}, 세그먼트 수: {}, 체크포인트: {}, 다음 순번: {}",
+                directory, segments.size(), checkpointSequence, nextSequence);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!open) {
+            return;
+        }
+        lock.lock();
+        try {
+            open = false;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join();
+
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+        log.info("발급 저널 닫기 - 마지막 순번: {}, 체크포인트: {}", nextSequence, checkpointSequence);
+    }
+
+    /**
+     * 발급 결정 기록
+     *
+     * @return 디스크에 반영(fsync)되면 완료되는 Future
+     */
+    public CompletableFuture<Void> append(long couponId, long userId) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (!open) {
+                throw new IllegalStateException("발급 저널이 열려 있지 않습니다.");
+            }
+            if (nextSequence - current.firstSequence == current.capacity) {
+                rollOver();
+            }
+            write(current, (int) (nextSequence - current.firstSequence), couponId, userId, System.currentTimeMillis());
+            waiters.addLast(new Waiter(nextSequence++, durable));
+            appended.signal();
+        } finally {
+            lock.unlock();
+        }
+        return durable;
+    }
+
+    /**
+     * 체크포인트 이후의 기록을 순서대로 전달 (시작 시 상태 복구용)
+     *
+     * @return 전달한 기록 수
+     */
+    public long replay(Consumer<JournalRecord> consumer) {
+        long replayed = 0;
+        long sequence = checkpointSequence;
+        while (true) {
+            JournalBatch batch = read(sequence, REPLAY_BATCH_SIZE);
+            batch.records().forEach(consumer);
+            replayed += batch.records().size();
+            if (batch.nextSequence() < sequence + REPLAY_BATCH_SIZE) {
+                return replayed;
+            }
+            sequence = batch.nextSequence();
+        }
+    }
+
+    /**
+     * fsync 가 끝난 기록 중 from 순번부터 최대 maxRecords 칸 조회
+     * 취소된 기록은 제외하고, 손상된 기록은 격리한 뒤 건너뛰므로 nextSequence 는 항상 조회한 칸 끝까지 진행
+     */
+    public JournalBatch read(long from, int maxRecords) {
+        List<Segment> snapshot;
+        long to;
+        lock.lock();
+        try {
+            snapshot = List.copyOf(segments);
+            to = Math.min(flushedSequence, from + maxRecords);
+        } finally {
+            lock.unlock();
+        }
+
+        List<JournalRecord> records = new ArrayList<>((int) Math.max(0, to - from));
+        for (Segment segment : snapshot) {
+            long sequence = Math.max(from, segment.firstSequence);
+            for (; sequence < to && sequence < segment.firstSequence + segment.capacity; sequence++) {
+                JournalRecord record = read(segment, (int) (sequence - segment.firstSequence));
+                if (record == null) {
+                    if (!isAborted(segment, (int) (sequence - segment.firstSequence))) {
+                        quarantine(segment, sequence);
+                    }
+                    continue;
+                }
+                records.add(record);
+            }
+        }
+        return new JournalBatch(records, Math.max(from, to));
+    }
+
+    /**
+     * DB 반영이 끝난 순번 저장, 더 이상 필요 없는 세그먼트 삭제
+     *
+     * @param sequence 반영이 끝난 마지막 기록의 다음 순번
+     */
+    public void checkpoint(long sequence) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // 이름 변경(디렉터리 항목)도 디스크에 반영
+        forceDirectory();
+        checkpointSequence = sequence;
+
+        List<Segment> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                if (segment != current && segment.firstSequence + segment.capacity <= sequence) {
+                    obsolete.add(segment);
+                }
+            }
+            segments.removeAll(obsolete);
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : obsolete) {
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    public long checkpointSequence() {
+        return checkpointSequence;
+    }
+
+    /**
+     * fsync 스레드: 기록이 생기면 fsync 한 번으로 그동안 쌓인 기록을 모두 반영
+     */
+    private void flushLoop() {
+        while (true) {
+            long target;
+            Segment segment;
+            lock.lock();
+            try {
+                while (open && flushedSequence == nextSequence) {
+                    appended.awaitUninterruptibly();
+                }
+                if (flushedSequence == nextSequence) {
+                    return;
+                }
+                target = nextSequence;
+                segment = current;
+            } finally {
+                lock.unlock();
+            }
+
+            // 이전 세그먼트는 넘어갈 때 이미 fsync 했으므로 target 까지는 모두 이 세그먼트에 있음
+            RuntimeException failure = null;
+            long start = System.nanoTime();
+            try {
+                segment.buffer.force();
+            } catch (RuntimeException e) {
+                log.error("저널 fsync 실패 - 세그먼트: {}", segment.path, e);
+                failure = e;
+            }
+            fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            lock.lock();
+            try {
+                // 실패하면 이 세그먼트의 기록만 취소 (이전 세그먼트의 기록은 넘어갈 때 fsync 됨)
+                long failedFrom = target;
+                if (failure != null) {
+                    failedFrom = Math.max(flushedSequence, segment.firstSequence);
+                    for (long sequence = failedFrom; sequence < target; sequence++) {
+                        abort(segment, (int) (sequence - segment.firstSequence));
+                    }
+                }
+                groupCommitSize.record(target - flushedSequence);
+                flushedSequence = target;
+                while (!waiters.isEmpty() && waiters.peekFirst().sequence < target) {
+                    Waiter waiter = waiters.pollFirst();
+                    if (waiter.sequence < failedFrom) {
+                        waiter.durable.complete(null);
+                    } else {
+                        waiter.durable.completeExceptionally(failure);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 fsync 하고 새 세그먼트로 교체 (lock 안에서 호출)
+     */
+    private void rollOver() {
+        current.buffer.force();
+        try {
+            current = createSegment(nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 만들 수 없습니다.", e);
+        }
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        int capacity = (int) Math.max(1, properties.getSegmentSize().toBytes() / RECORD_SIZE);
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        Segment segment = Segment.map(path, firstSequence, capacity);
+        // 파일 크기(메타데이터)와 디렉터리 항목을 디스크에 반영해야
+        // 비정상 종료 후에도 새 세그먼트에 fsync 한 기록이 파일과 함께 남음 (buffer.force 는 내용만 반영)
+        segment.channel.force(true);
+        forceDirectory();
+        segments.add(segment);
+        log.info("저널 세그먼트 생성 - {}", path);
+        return segment;
+    }
+
+    /**
+     * 손상된 기록의 원본을 격리 파일에 남김 (같은 순번은 한 번만)
+     * 형식: 순번 + 세그먼트 파일 이름 + 기록 32 bytes (16진수), 한 줄에 한 건
+     */
+    private void quarantine(Segment segment, long sequence) {
+        if (!quarantined.add(sequence)) {
+            return;
+        }
+        corruptedCounter.increment();
+        byte[] raw = new byte[RECORD_SIZE];
+        segment.buffer.get((int) (sequence - segment.firstSequence) * RECORD_SIZE, raw);
+        String line = String.format("%d %s %s%n", sequence, segment.path.getFileName(), HexFormat.of().formatHex(raw));
+        log.error("손상된 저널 기록 격리 - 순번: {}, 세그먼트: {}", sequence, segment.path);
+        try {
+            Files.writeString(directory.resolve(QUARANTINE_FILE), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            log.error("손상된 저널 기록 격리 실패 - {}", line.trim(), e);
+        }
+    }
+
+    /**
+     * 저널 디렉터리 fsync (파일 생성 / 이름 변경 반영)
+     */
+    private void forceDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(path)).getLong();
+    }
+
+    private static void write(Segment segment, int index, long couponId, long userId, long issuedAtMillis) {
+        int offset = index * RECORD_SIZE;
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putLong(offset, couponId);
+        buffer.putLong(offset + 8, userId);
+        buffer.putLong(offset + 16, issuedAtMillis);
+        buffer.putInt(offset + 24, checksum(couponId, userId, issuedAtMillis));
+        buffer.putInt(offset + 28, RECORD_MARKER);
+    }
+
+    /**
+     * fsync 하지 못한 기록을 취소 표시 (lock 안에서 호출)
+     */
+    private static void abort(Segment segment, int index) {
+        segment.buffer.putInt(index * RECORD_SIZE + 28, ABORTED_MARKER);
+    }
+
+    private static boolean isAborted(Segment segment, int index) {
+        return segment.buffer.getInt(index * RECORD_SIZE + 28) == ABORTED_MARKER;
+    }
+
+    /**
+     * @return 유효하지 않은(또는 취소된) 기록이면 null
+     */
+    private static JournalRecord read(Segment segment, int index) {
+        int offset = index * RECORD_SIZE;
+        MappedByteBuffer buffer = segment.buffer;
+        if (buffer.getInt(offset + 28) != RECORD_MARKER) {
+            return null;
+        }
+        long couponId = buffer.getLong(offset);
+        long userId = buffer.getLong(offset + 8);
+        long issuedAtMillis = buffer.getLong(offset + 16);
+        if (buffer.getInt(offset + 24) != checksum(couponId, userId, issuedAtMillis)) {
+            return null;
+        }
+        return new JournalRecord(segment.firstSequence + index, couponId, userId, issuedAtMillis);
+    }
+
+    private static int checksum(long couponId, long userId, long issuedAtMillis) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(24).putLong(couponId).putLong(userId).putLong(issuedAtMillis).flip());
+        return (int) crc.getValue();
+    }
+
+    private static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private record Waiter(long sequence, CompletableFuture<Void> durable) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private final int capacity;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(Path path, long firstSequence, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.capacity = capacity;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long firstSequence, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            return new Segment(path, firstSequence, capacity, channel, buffer);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 닫기 실패 - {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.yuuki.demo.journal;
+
+import com.yuuki.demo.config.JournalProperties;
+import com.yuuki.demo.engine.CouponIssueEngine;
+import com.yuuki.demo.repository.CouponIssueJdbcRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 발급 저널 복구 및 DB 반영
+ *
+ * - 시작 시: 체크포인트 이후의 저널 기록을 인메모리 발급 엔진에 다시 반영 (발급 사용자 집합, 남은 수량 복구)
+ * - 주기마다: fsync 가 끝난 기록을 coupon_issue 에 INSERT IGNORE 하고 쿠폰 발급 수량을 발급 이력 수로 다시 계산한 뒤 체크포인트 저장
+ *
+ * DB 반영과 체크포인트 저장 사이에 종료되어 같은 기록을 다시 반영해도 결과가 같음 (멱등)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssueReconciler {
+
+    private final CouponIssueJournal couponIssueJournal;
+    private final CouponIssueEngine couponIssueEngine;
+    private final CouponIssueJdbcRepository couponIssueJdbcRepository;
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JournalProperties properties;
+
+    /**
+     * 저널이 열린 직후 (요청을 받기 전) 엔진 상태 복구
+     */
+    @PostConstruct
+    void recover() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long replayed = couponIssueJournal.replay(record -> {
+            try {
+                couponIssueEngine.replay(record.couponId(), record.userId());
+            } catch (IllegalArgumentException e) {
+                log.warn("저널 복구 제외 - 순번: {}, couponId: {} ({})", record.sequence(), record.couponId(), e.getMessage());
+            }
+        });
+        log.info("발급 저널 복구 완료 - 복구한 기록 수: {}", replayed);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.journal.reconcile-interval:200ms}")
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            while (reconcileBatch() == properties.getReconcileBatchSize()) {
+                // 밀린 기록이 남아 있으면 이어서 반영
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("발급 저널 DB 반영 실패, 다음 주기에 다시 시도 - 체크포인트: {}",
+                    couponIssueJournal.checkpointSequence(), e);
+        }
+    }
+
+    /**
+     * @return 확인한 순번 수 (손상되어 격리한 기록 포함)
+     */
+    private int reconcileBatch() throws IOException {
+        long from = couponIssueJournal.checkpointSequence();
+        JournalBatch batch = couponIssueJournal.read(from, properties.getReconcileBatchSize());
+        if (batch.nextSequence() == from) {
+            return 0;
+        }
+
+        List<JournalRecord> records = batch.records();
+        if (!records.isEmpty()) {
+            Set<Long> couponIds = new TreeSet<>();
+            records.forEach(record -> couponIds.add(record.couponId()));
+            transactionTemplate.executeWithoutResult(status -> {
+
+                // 1. 발급 이력 저장 (이미 저장된 이력은 무시)
+                couponIssueJdbcRepository.insertIgnore(records);
+
+                // 2. 쿠폰별 발급 수량을 발급 이력 수로 다시 계산 (쿠폰 ID 순서로 행 락 획득)
+                LocalDateTime now = LocalDateTime.now();
+                couponIds.forEach(couponId -> couponRepository.recountIssuedQuantity(couponId, now));
+            });
+        }
+
+        // 3. 반영이 끝난 순번 저장 (손상된 기록은 격리되었으므로 건너뜀)
+        couponIssueJournal.checkpoint(batch.nextSequence());
+        return (int) (batch.nextSequence() - from);
+    }
+}
@@ -0,0 +1,12 @@
+package com.yuuki.demo.journal;
+
+import java.util.List;
+
+/**
+ * 저널 조회 결과
+ *
+ * @param records      조회한 유효 기록 (손상되어 격리한 기록은 제외)
+ * @param nextSequence 이번 조회에서 확인을 마친 다음 순번 (다음 조회 / 체크포인트의 시작점)
+ */
+public record JournalBatch(List<JournalRecord> records, long nextSequence) {
+}
@@ -0,0 +1,10 @@
+package com.yuuki.demo.journal;
+
+/**
+ * 저널에 기록된 발급 결정 하나
+ *
+ * @param sequence       저널 전체에서의 순번 (0부터)
+ * @param issuedAtMillis 발급 시각 (epoch millis)
+ */
+public record JournalRecord(long sequence, long couponId, long userId, long issuedAtMillis) {
+}
@@ -0,0 +1,285 @@
+package com.yuuki.demo.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 실행 중인 서버의 발급 API 에 선착순 트래픽을 재현하는 부하 생성기 (./gradlew loadGen)
+ *
+ * - open-loop: 응답을 기다리지 않고 정해진 간격(rate)으로 요청을 보냄
+ *   응답 시간은 "보냈어야 할 시각" 부터 측정하여 서버가 밀릴 때의 대기도 포함 (coordinated omission 보정)
+ *   워밍업 중 보낸 요청은 측정 구간에 응답이 와도 집계하지 않음
+ * - closed-loop(connections 지정 시): 연결 N 개가 각자 응답을 받으면 바로 다음 요청을 보냄
+ *   동시 연결 수를 고정하므로 MVC(스레드 per 요청)와 WebFlux(이벤트 루프) 서버를 1k ~ 10k 연결에서 비교할 때 사용
+ *   (응답이 늦어지면 보내는 요청도 줄어드므로 응답 시간은 실제 요청 시각부터 측정)
+ * - 전략마다 새 쿠폰을 만들고 같은 트래픽을 보냄
+ * - 전략별 응답 시간 분포를 HdrHistogram 파일(<output>/<strategy>.hgrm)로 저장
+ *
+ * 옵션 (--key=value)
+ * - base-url: http://localhost:8080
+ * - strategies: pessimistic,optimistic,conditional,... (/api/coupons/{strategy}/issue)
+ * - rate: 초당 요청 수, duration: 전략당 부하 시간 (예: 30s), warmup: 측정 전 부하 시간
+ * - coupons: 요청을 나눌 쿠폰 수, quantity: 쿠폰당 수량
+ * - users: unique | zipf, user-count: zipf 사용자 수, zipf-exponent: zipf 지수
+ * - max-in-flight: 응답을 기다리는 최대 요청 수 (넘으면 보내지 않고 dropped 로 집계)
+ * - connections: closed-loop 동시 연결 수 (지정하면 rate / max-in-flight 는 무시)
+ * - output: 결과 디렉터리
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Map<String, String> ISSUE_PATHS = Map.of(
+            "insert-first", "conditional/insert-first",
+            "redis-async", "redis/async"
+    );
+
+    private final Map<String, String> options;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080");
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        // HTTP/2 로 올라가면 요청이 연결 하나에 다중화되므로 연결 수를 맞출 수 있도록 HTTP/1.1 고정
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --key=value 형식이어야 합니다: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadGenerator(options).run();
+    }
+
+    public void run() throws Exception {
+        Path output = Path.of(option("output", "build/loadgen"));
+        Files.createDirectories(output);
+
+        List<String> summaries = new ArrayList<>();
+        for (String strategy : option("strategies", "pessimistic,optimistic,conditional").split(",")) {
+            summaries.add(runStrategy(strategy.trim(), output));
+        }
+
+        System.out.println();
+        System.out.printf("%-16s %10s %10s %10s %10s %10s %10s  %s%n",
+                "strategy", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "dropped", "results");
+        summaries.forEach(System.out::println);
+    }
+
+    private String runStrategy(String strategy, Path output) throws Exception {
+        int rate = Integer.parseInt(option("rate", "1000"));
+        Duration duration = Duration.parse("PT" + option("duration", "30s"));
+        Duration warmup = Duration.parse("PT" + option("warmup", "0s"));
+        int couponCount = Integer.parseInt(option("coupons", "1"));
+        int quantity = Integer.parseInt(option("quantity", "1000"));
+        // Phaser 등록 수 상한(65535) 이내
+        int maxInFlight = Math.min(Integer.parseInt(option("max-in-flight", "10000")), 60_000);
+        UserIdSampler userIds = UserIdSampler.of(option("users", "unique"),
+                Integer.parseInt(option("user-count", "100000")),
+                Double.parseDouble(option("zipf-exponent", "1.1")));
+
+        long[] couponIds = new long[couponCount];
+        for (int i = 0; i < couponCount; i++) {
+            couponIds[i] = createCoupon(strategy, quantity);
+        }
+        URI issueUri = URI.create(baseUrl + "/api/coupons/" + ISSUE_PATHS.getOrDefault(strategy, strategy) + "/issue");
+
+        int connections = Integer.parseInt(option("connections", "0"));
+        if (connections > 0) {
+            return runClosedLoop(strategy, output, issueUri, couponIds, userIds, connections, warmup, duration);
+        }
+
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate 는 1 이상이어야 합니다: " + rate);
+        }
+        Recorder recorder = new Recorder(3);
+        Map<String, LongAdder> results = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        LongAdder dropped = new LongAdder();
+        Phaser pending = new Phaser(1);
+
+        long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+
+        for (long intendedAt = start; intendedAt < measureEnd; intendedAt += intervalNanos) {
+            long waitNanos = intendedAt - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            // 워밍업 중 보낸 요청은 응답이 늦게 와도 집계하지 않음
+            boolean measured = intendedAt >= measureStart;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+
+            HttpRequest request = issueRequest(issueUri, couponIds, userIds);
+
+            long scheduledAt = intendedAt;
+            inFlight.incrementAndGet();
+            pending.register();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        if (measured) {
+                            recorder.recordValue(Math.max(0, System.nanoTime() - scheduledAt) / 1_000);
+                            results.computeIfAbsent(result(response, error), k -> new LongAdder()).increment();
+                        }
+                        inFlight.decrementAndGet();
+                        pending.arriveAndDeregister();
+                    });
+        }
+        pending.arriveAndAwaitAdvance();
+        long elapsedNanos = System.nanoTime() - Math.max(start, measureStart);
+
+        return summarize(strategy, output, recorder.getIntervalHistogram(), elapsedNanos, dropped.sum(), results);
+    }
+
+    /**
+     * 연결 수를 고정한 closed-loop 부하
+     * 가상 스레드 하나가 연결 하나를 맡아 응답을 받으면 바로 다음 요청을 보냄
+     */
+    private String runClosedLoop(String strategy, Path output, URI issueUri, long[] couponIds, UserIdSampler userIds,
+                                 int connections, Duration warmup, Duration duration) throws IOException {
+        Recorder recorder = new Recorder(3);
+        Map<String, LongAdder> results = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                workers.execute(() -> {
+                    long sentAt;
+                    while ((sentAt = System.nanoTime()) < measureEnd) {
+                        HttpRequest request = issueRequest(issueUri, couponIds, userIds);
+                        HttpResponse<String> response = null;
+                        Throwable error = null;
+                        try {
+                            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        } catch (IOException e) {
+                            error = e;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        // 워밍업 중 보낸 요청은 집계하지 않음
+                        if (sentAt >= measureStart) {
+                            recorder.recordValue((System.nanoTime() - sentAt) / 1_000);
+                            results.computeIfAbsent(result(response, error), k -> new LongAdder()).increment();
+                        }
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - measureStart;
+
+        return summarize(strategy + "@" + connections, output, recorder.getIntervalHistogram(), elapsedNanos, 0, results);
+    }
+
+    private HttpRequest issueRequest(URI issueUri, long[] couponIds, UserIdSampler userIds) {
+        long couponId = couponIds[ThreadLocalRandom.current().nextInt(couponIds.length)];
+        String body = "{\"couponId\":" + couponId + ",\"userId\":" + userIds.next() + "}";
+        return HttpRequest.newBuilder(issueUri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String summarize(String strategy, Path output, Histogram histogram, long elapsedNanos, long dropped,
+                             Map<String, LongAdder> results) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(strategy + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1_000.0);
+        }
+
+        return String.format("%-16s %10d %10.2f %10.2f %10.2f %10.2f %10d  %s",
+                strategy,
+                histogram.getTotalCount() * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1),
+                histogram.getValueAtPercentile(50) / 1_000.0,
+                histogram.getValueAtPercentile(99) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0,
+                histogram.getMaxValue() / 1_000.0,
+                dropped,
+                results);
+    }
+
+    private long createCoupon(String strategy, int quantity) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        baseUrl + "/api/coupons?name=loadgen-" + strategy + "&quantity=" + quantity))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("쿠폰 생성 실패 - status: " + response.statusCode());
+        }
+        return OBJECT_MAPPER.readTree(response.body()).get("id").asLong();
+    }
+
+    /**
+     * 응답을 issued / duplicate / sold_out / failed / http_xxx / error 로 분류
+     */
+    private String result(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            return "error";
+        }
+        if (response.statusCode() != 200) {
+            return "http_" + response.statusCode();
+        }
+        try {
+            JsonNode body = OBJECT_MAPPER.readTree(response.body());
+            if (body.path("success").asBoolean()) {
+                return "issued";
+            }
+            return switch (body.path("message").asText()) {
+                case "이미 발급받은 쿠폰입니다." -> "duplicate";
+                case "쿠폰이 모두 발급되었습니다." -> "sold_out";
+                default -> "failed";
+            };
+        } catch (IOException e) {
+            return "error";
+        }
+    }
+
+    private String option(String key, String defaultValue) {
+        return options.getOrDefault(key, defaultValue);
+    }
+}
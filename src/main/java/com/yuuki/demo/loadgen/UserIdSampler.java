@@ -0,0 +1,64 @@
+package com.yuuki.demo.loadgen;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 생성 시 요청에 사용할 사용자 ID 분포
+ *
+ * - unique: 요청마다 새로운 사용자 (중복 요청 없음)
+ * - zipf: 소수의 사용자가 반복해서 요청 (새로고침 / 매크로 재요청 흉내)
+ */
+public interface UserIdSampler {
+
+    long next();
+
+    static UserIdSampler of(String distribution, int userCount, double exponent) {
+        return switch (distribution) {
+            case "unique" -> new Unique();
+            case "zipf" -> new Zipf(userCount, exponent);
+            default -> throw new IllegalArgumentException("알 수 없는 사용자 분포입니다: " + distribution);
+        };
+    }
+
+    final class Unique implements UserIdSampler {
+
+        private final AtomicLong nextUserId = new AtomicLong();
+
+        @Override
+        public long next() {
+            return nextUserId.getAndIncrement();
+        }
+    }
+
+    /**
+     * 순위 k 의 사용자가 뽑힐 확률 ∝ 1 / k^exponent
+     * 누적 분포를 미리 계산하고 이진 탐색으로 샘플링
+     */
+    final class Zipf implements UserIdSampler {
+
+        private final double[] cumulative;
+
+        Zipf(int userCount, double exponent) {
+            if (userCount < 1) {
+                throw new IllegalArgumentException("사용자 수는 1 이상이어야 합니다.");
+            }
+            cumulative = new double[userCount];
+            double sum = 0;
+            for (int k = 0; k < userCount; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < userCount; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        @Override
+        public long next() {
+            int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+            return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.yuuki.demo.metrics;
+
+import com.yuuki.demo.dto.CouponIssueResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 발급 단계별 지표 (/actuator/metrics, /actuator/prometheus)
+ *
+ * - coupon.issue: 전체 발급 처리 시간 (result: issued / duplicate / sold_out / failed)
+ * - coupon.lock.wait: 락 획득 대기 시간
+ * - coupon.lock.hold: 락을 잡고 있던 시간 (DB 행 락은 커밋/롤백까지)
+ * - coupon.issue.conflicts: 요청당 낙관적 락 충돌 횟수
+ * - coupon.issue.insert: 발급 이력 INSERT 시간 (함께 flush 되는 쿠폰 UPDATE 포함)
+ *
+ * 모든 지표는 strategy, coupon.bucket(쿠폰 ID % coupon.metrics.coupon-buckets) 태그를 가짐
+ * 요청마다 Meter 를 다시 만들지 않도록 태그 조합별로 캐시
+ */
+@Component
+public class CouponIssueMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final int couponBuckets;
+
+    private final Map<MeterKey, Timer> issueTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> lockWaitTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> lockHoldTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> insertTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> conflictSummaries = new ConcurrentHashMap<>();
+
+    public CouponIssueMetrics(MeterRegistry meterRegistry,
+                              @Value("${coupon.metrics.coupon-buckets:16}") int couponBuckets) {
+        this.meterRegistry = meterRegistry;
+        this.couponBuckets = Math.max(1, couponBuckets);
+    }
+
+    /**
+     * 발급 결과와 전체 처리 시간 기록
+     */
+    public void recordIssue(String strategy, Long couponId, CouponIssueResponse response, long elapsedNanos) {
+        MeterKey key = new MeterKey(strategy, bucket(couponId), result(response));
+        issueTimers.computeIfAbsent(key, k -> Timer.builder("coupon.issue")
+                        .description("쿠폰 발급 처리 시간")
+                        .tags(k.tags())
+                        .tag("result", k.extra())
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(String strategy, Long couponId, long waitNanos) {
+        timer(lockWaitTimers, "coupon.lock.wait", "락 획득 대기 시간", strategy, couponId)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(String strategy, Long couponId, long holdNanos) {
+        timer(lockHoldTimers, "coupon.lock.hold", "락 점유 시간", strategy, couponId)
+                .record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * DB 행 락 획득 기록
+     * 대기 시간은 바로 기록하고, 점유 시간은 트랜잭션이 끝날 때(락이 풀릴 때) 기록
+     *
+     * @param waitStartedAt 락을 요청한 시각 (System.nanoTime)
+     */
+    public void recordRowLockAcquired(String strategy, Long couponId, long waitStartedAt) {
+        long acquiredAt = System.nanoTime();
+        recordLockWait(strategy, couponId, acquiredAt - waitStartedAt);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    recordLockHold(strategy, couponId, System.nanoTime() - acquiredAt);
+                }
+            });
+        }
+    }
+
+    public void recordConflicts(String strategy, Long couponId, int conflicts) {
+        MeterKey key = new MeterKey(strategy, bucket(couponId), null);
+        conflictSummaries.computeIfAbsent(key, k -> DistributionSummary.builder("coupon.issue.conflicts")
+                        .description("요청당 낙관적 락 충돌 횟수")
+                        .tags(k.tags())
+                        .register(meterRegistry))
+                .record(conflicts);
+    }
+
+    /**
+     * 발급 이력 INSERT 시간 기록
+     */
+    public <T> T recordInsert(String strategy, Long couponId, Supplier<T> insert) {
+        long start = System.nanoTime();
+        try {
+            return insert.get();
+        } finally {
+            timer(insertTimers, "coupon.issue.insert", "발급 이력 INSERT 시간", strategy, couponId)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Map<MeterKey, Timer> timers, String name, String description,
+                        String strategy, Long couponId) {
+        return timers.computeIfAbsent(new MeterKey(strategy, bucket(couponId), null), k -> Timer.builder(name)
+                .description(description)
+                .tags(k.tags())
+                .register(meterRegistry));
+    }
+
+    private int bucket(Long couponId) {
+        return (int) Math.floorMod(couponId, (long) couponBuckets);
+    }
+
+    private String result(CouponIssueResponse response) {
+        if (response.isSuccess()) {
+            return "issued";
+        }
+        if (response.isSoldOut()) {
+            return "sold_out";
+        }
+        if (response.isDuplicate()) {
+            return "duplicate";
+        }
+        return "failed";
+    }
+
+    private record MeterKey(String strategy, int bucket, String extra) {
+
+        String[] tags() {
+            return new String[]{"strategy", strategy, "coupon.bucket", String.valueOf(bucket)};
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.yuuki.demo.repository;
+
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.domain.id.TsidFactory;
+import com.yuuki.demo.journal.JournalRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * 발급 이력 대량 저장/조회용 JDBC 리포지토리
+ * JPA의 건별 INSERT 대신 JDBC 배치 INSERT 사용
+ * ID는 엔티티와 같은 TSID 사용
+ */
+@Repository
+@RequiredArgsConstructor
+public class CouponIssueJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO coupon_issue (id, coupon_id, user_id, issued_at) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO coupon_issue (id, coupon_id, user_id, issued_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_USER_IDS_SQL =
+            "SELECT user_id FROM coupon_issue WHERE coupon_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<CouponIssue> couponIssues) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, couponIssues, couponIssues.size(), (ps, couponIssue) -> {
+            ps.setLong(1, couponIssue.getId() != null ? couponIssue.getId() : TsidFactory.next());
+            ps.setLong(2, couponIssue.getCouponId());
+            ps.setLong(3, couponIssue.getUserId());
+            ps.setTimestamp(4, Timestamp.valueOf(couponIssue.getIssuedAt()));
+        });
+    }
+
+    /**
+     * 발급 이력 한 건 INSERT (이미 저장된 (coupon_id, user_id) 는 무시)
+     *
+     * @return 저장했으면 1, 이미 있어서 무시했으면 0
+     */
+    public int insertIgnore(CouponIssue couponIssue) {
+        return jdbcTemplate.update(INSERT_IGNORE_SQL,
+                couponIssue.getId() != null ? couponIssue.getId() : TsidFactory.next(),
+                couponIssue.getCouponId(),
+                couponIssue.getUserId(),
+                Timestamp.valueOf(couponIssue.getIssuedAt()));
+    }
+
+    /**
+     * 저널 기록 배치 INSERT
+     * 이미 저장된 (coupon_id, user_id) 는 무시하므로 같은 기록을 다시 반영해도 안전
+     */
+    public void insertIgnore(List<JournalRecord> records) {
+        jdbcTemplate.batchUpdate(INSERT_IGNORE_SQL, records, records.size(), (ps, record) -> {
+            ps.setLong(1, TsidFactory.next());
+            ps.setLong(2, record.couponId());
+            ps.setLong(3, record.userId());
+            ps.setTimestamp(4, new Timestamp(record.issuedAtMillis()));
+        });
+    }
+
+    /**
+     * 쿠폰을 발급받은 사용자 ID 를 한 건씩 전달 (List<Long> 으로 모으지 않고 스트리밍)
+     */
+    public void forEachUserId(Long couponId, LongConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_USER_IDS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL 드라이버가 결과 전체를 메모리에 올리지 않고 한 행씩 읽도록 설정
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setLong(1, couponId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1)));
+    }
+}
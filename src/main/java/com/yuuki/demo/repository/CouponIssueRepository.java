@@ -2,8 +2,20 @@ package com.yuuki.demo.repository;
 
 import com.yuuki.demo.domain.CouponIssue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CouponIssueRepository extends JpaRepository<CouponIssue, Long> {
 
     boolean existsByCouponIdAndUserId(Long couponId, Long userId);
+
+    @Query("SELECT ci.userId FROM CouponIssue ci WHERE ci.couponId = :couponId")
+    List<Long> findUserIdsByCouponId(@Param("couponId") Long couponId);
+
+    @Query("SELECT ci.userId FROM CouponIssue ci WHERE ci.couponId = :couponId AND ci.userId IN :userIds")
+    List<Long> findUserIdsByCouponIdAndUserIdIn(@Param("couponId") Long couponId,
+                                                @Param("userIds") Collection<Long> userIds);
 }
@@ -4,9 +4,12 @@ import com.yuuki.demo.domain.Coupon;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
@@ -27,4 +30,39 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     @Lock(LockModeType.OPTIMISTIC)
     @Query("SELECT c FROM Coupon c WHERE c.id = :id")
     Optional<Coupon> findByIdWithOptimisticLock(@Param("id") Long id);
+
+    /**
+     * 발급 수량 증가 (조건 없음)
+     * 재고 판단을 Redis 등 외부에서 이미 끝낸 경우에만 사용
+     * 벌크 연산이므로 version을 직접 올려 낙관적 락 경로와 충돌을 감지하게 함
+     */
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + :count, " +
+            "c.version = c.version + 1, c.updatedAt = :now WHERE c.id = :id")
+    int increaseIssuedQuantity(@Param("id") Long id, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    /**
+     * 조건부 발급 수량 증가 (재고 확인 + 차감을 UPDATE 한 번으로 처리)
+     * 반영된 행 수가 0이면 재고 소진 또는 존재하지 않는 쿠폰
+     */
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + 1, " +
+            "c.version = c.version + 1, c.updatedAt = :now " +
+            "WHERE c.id = :id AND c.issuedQuantity + c.shardedQuantity < c.totalQuantity")
+    int increaseIssuedQuantityIfAvailable(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 발급 수량을 실제 발급 이력 수로 다시 계산 (저널 반영 후 정합성 맞춤)
+     * 같은 반영을 여러 번 실행해도 결과가 같음
+     */
+    @Modifying
+    @Query(value = "UPDATE coupon SET issued_quantity = (SELECT COUNT(*) FROM coupon_issue WHERE coupon_id = :id), " +
+            "version = version + 1, updated_at = :now WHERE id = :id", nativeQuery = true)
+    int recountIssuedQuantity(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 아직 재고가 남은 쿠폰 ID (인메모리 발급 엔진 사전 적재용)
+     */
+    @Query("SELECT c.id FROM Coupon c WHERE c.issuedQuantity + c.shardedQuantity < c.totalQuantity")
+    List<Long> findIssuableIds();
 }
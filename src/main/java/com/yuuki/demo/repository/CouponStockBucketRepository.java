@@ -0,0 +1,32 @@
+package com.yuuki.demo.repository;
+
+import com.yuuki.demo.domain.CouponStockBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CouponStockBucketRepository extends JpaRepository<CouponStockBucket, Long> {
+
+    boolean existsByCouponId(Long couponId);
+
+    @Query("SELECT b.id FROM CouponStockBucket b WHERE b.couponId = :couponId ORDER BY b.bucketIndex")
+    List<Long> findIdsByCouponId(@Param("couponId") Long couponId);
+
+    /**
+     * 버킷 단위 조건부 발급 수량 증가
+     * 반영된 행 수가 0이면 해당 버킷 재고 소진
+     */
+    @Modifying
+    @Query("UPDATE CouponStockBucket b SET b.issuedQuantity = b.issuedQuantity + 1 " +
+            "WHERE b.id = :id AND b.issuedQuantity < b.totalQuantity")
+    int increaseIssuedQuantityIfAvailable(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(SUM(b.issuedQuantity), 0) FROM CouponStockBucket b WHERE b.couponId = :couponId")
+    long sumIssuedQuantityByCouponId(@Param("couponId") Long couponId);
+
+    @Query("SELECT COALESCE(SUM(b.totalQuantity), 0) FROM CouponStockBucket b WHERE b.couponId = :couponId")
+    long sumTotalQuantityByCouponId(@Param("couponId") Long couponId);
+}
@@ -1,14 +1,71 @@
 package com.yuuki.demo.repository;
 
-import com.yuuki.demo.domain.CouponIssue;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
 
-public interface LockRepository extends JpaRepository<CouponIssue,Integer> {
-    @Query(value = "select get_lock(:key, 3000)", nativeQuery = true)
-    void getLock(String key);
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
 
-    @Query(value = "select release_lock(:key)", nativeQuery = true)
-    void releaseLock(String key);
+/**
+ * MySQL 네임드 락 (GET_LOCK / RELEASE_LOCK)
+ *
+ * 네임드 락은 세션(커넥션) 단위이므로 획득과 해제를 같은 커넥션에서 실행해야 함
+ * 트랜잭션 커넥션과 섞이지 않도록 락 전용 DataSource 의 커넥션 사용
+ */
+@Repository
+public class LockRepository {
 
+    private final DataSource lockDataSource;
+
+    public LockRepository(@Qualifier("lockDataSource") DataSource lockDataSource) {
+        this.lockDataSource = lockDataSource;
+    }
+
+    /**
+     * 네임드 락을 잡은 상태로 action 실행
+     *
+     * @param onTimeout waitTimeout 안에 락을 잡지 못했을 때의 결과
+     */
+    public <T> T executeWithLock(String key, Duration waitTimeout, Supplier<T> action, Supplier<T> onTimeout) {
+        try (Connection connection = lockDataSource.getConnection()) {
+            if (!getLock(connection, key, waitTimeout)) {
+                return onTimeout.get();
+            }
+
+            try {
+                return action.get();
+            } finally {
+                releaseLock(connection, key);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("네임드 락 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * @return 1: 획득, 0: 대기 시간 초과, NULL: 오류
+     */
+    private boolean getLock(Connection connection, String key, Duration waitTimeout) throws SQLException {
+        long timeoutSeconds = (waitTimeout.toMillis() + 999) / 1000;
+        try (PreparedStatement ps = connection.prepareStatement("select get_lock(?, ?)")) {
+            ps.setString(1, key);
+            ps.setLong(2, timeoutSeconds);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1 && !rs.wasNull();
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection, String key) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("select release_lock(?)")) {
+            ps.setString(1, key);
+            ps.executeQuery().close();
+        }
+    }
 }
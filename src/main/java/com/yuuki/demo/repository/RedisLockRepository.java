@@ -0,0 +1,198 @@
+package com.yuuki.demo.repository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis 분산 락
+ *
+ * - 획득: SET key token NX PX leaseTime (소유자 토큰 + 점유 시간)
+ * - 해제: 토큰이 일치할 때만 DEL 후 해제 알림 PUBLISH (Lua 스크립트)
+ * - 연장(watchdog): 락을 잡고 있는 동안 leaseTime / 3 마다 토큰이 일치할 때만 PEXPIRE (Lua 스크립트)
+ *   처리가 leaseTime 보다 오래 걸려도 락이 풀리지 않고, 서버가 죽으면 연장이 멈춰 leaseTime 뒤 자동 해제
+ * - 대기: 락 해제 알림(pub/sub)을 받을 때까지 대기하고 다시 시도 (스핀 락 X)
+ *   시도마다 대기자별 래치를 먼저 등록한 뒤 SET NX 를 보내므로 실패 직후의 해제 알림도 놓치지 않음
+ *   (해제 알림은 그 키를 기다리는 이 서버의 대기자 모두에게 전달, 마지막 대기자가 나가면 키 항목 삭제)
+ *   알림을 놓치더라도 락 만료 시간 또는 최대 대기 간격이 지나면 다시 시도
+ */
+@Slf4j
+@Repository
+public class RedisLockRepository {
+
+    private static final String RELEASE_CHANNEL = "coupon:lock:release";
+    private static final long MAX_WAIT_INTERVAL_MS = 100;
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lock-release.lua"), Long.class);
+    private static final RedisScript<Long> RENEW_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lock-renew.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 락 키별 대기자 래치 (compute 안에서만 집합을 읽고 수정)
+     */
+    private final Map<String, Set<CountDownLatch>> releaseSignals = new ConcurrentHashMap<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * 소유자 토큰별 점유 시간 연장 작업
+     */
+    private final Map<String, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog;
+
+    public RedisLockRepository(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("redis-lock-watchdog-");
+        threadFactory.setDaemon(true);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * 락 획득
+     *
+     * @return 소유자 토큰, waitTime 안에 획득하지 못하면 null
+     */
+    public String lock(String key, Duration waitTime, Duration leaseTime) throws InterruptedException {
+        String token = UUID.randomUUID().toString();
+        if (tryLock(key, token, leaseTime)) {
+            return startRenewal(key, token, leaseTime);
+        }
+
+        // 경합이 있을 때만 해제 알림 구독
+        subscribe();
+        long deadline = System.nanoTime() + waitTime.toNanos();
+        while (true) {
+            // 1. 시도 전에 래치 등록 (시도가 실패한 직후의 해제 알림도 받음)
+            CountDownLatch released = new CountDownLatch(1);
+            register(key, released);
+            try {
+                if (tryLock(key, token, leaseTime)) {
+                    return startRenewal(key, token, leaseTime);
+                }
+
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return null;
+                }
+
+                // 2. 해제 알림, 락 만료, 최대 대기 간격 중 먼저 오는 것까지 대기
+                Long ttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+                long waitMs = Math.min(remainingMs, MAX_WAIT_INTERVAL_MS);
+                if (ttl != null && ttl > 0) {
+                    waitMs = Math.min(waitMs, ttl);
+                }
+                released.await(waitMs, TimeUnit.MILLISECONDS);
+            } finally {
+                unregister(key, released);
+            }
+        }
+    }
+
+    /**
+     * 락 해제 (소유자 토큰이 일치할 때만)
+     */
+    public boolean unlock(String key, String token) {
+        ScheduledFuture<?> renewal = renewals.remove(token);
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+        Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(key), token, RELEASE_CHANNEL);
+        if (released == null || released == 0) {
+            log.warn("락 점유 시간이 지나 이미 해제된 락 - key: {}", key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 해제할 때까지 leaseTime / 3 마다 점유 시간 연장
+     */
+    private String startRenewal(String key, String token, Duration leaseTime) {
+        long leaseMs = leaseTime.toMillis();
+        long intervalMs = Math.max(1, leaseMs / 3);
+        renewals.put(token, watchdog.scheduleAtFixedRate(
+                () -> renew(key, token, leaseMs), intervalMs, intervalMs, TimeUnit.MILLISECONDS));
+        return token;
+    }
+
+    private void renew(String key, String token, long leaseMs) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), token, String.valueOf(leaseMs));
+            if (renewed == null || renewed == 0) {
+                // 이미 만료되어 다른 소유자가 잡았거나 해제됨
+                log.warn("락 점유 시간 연장 실패, 연장 중단 - key: {}", key);
+                ScheduledFuture<?> renewal = renewals.remove(token);
+                if (renewal != null) {
+                    renewal.cancel(false);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Redis 오류: 다음 주기에 다시 시도 (계속 실패하면 leaseTime 뒤 자동 해제)
+            log.warn("락 점유 시간 연장 오류 - key: {}", key, e);
+        }
+    }
+
+    private boolean tryLock(String key, String token, Duration leaseTime) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, leaseTime));
+    }
+
+    private void register(String key, CountDownLatch released) {
+        releaseSignals.compute(key, (k, latches) -> {
+            Set<CountDownLatch> target = latches != null ? latches : new HashSet<>();
+            target.add(released);
+            return target;
+        });
+    }
+
+    /**
+     * 대기자 제거, 마지막 대기자면 키 항목 삭제
+     */
+    private void unregister(String key, CountDownLatch released) {
+        releaseSignals.computeIfPresent(key, (k, latches) -> {
+            latches.remove(released);
+            return latches.isEmpty() ? null : latches;
+        });
+    }
+
+    /**
+     * 처음 락 대기가 발생할 때 해제 알림 채널 구독
+     */
+    private void subscribe() {
+        if (subscribed.compareAndSet(false, true)) {
+            listenerContainer.addMessageListener((message, pattern) ->
+                    releaseSignals.computeIfPresent(new String(message.getBody(), StandardCharsets.UTF_8), (k, latches) -> {
+                        latches.forEach(CountDownLatch::countDown);
+                        return latches;
+                    }), new ChannelTopic(RELEASE_CHANNEL));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.yuuki.demo.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지수 백오프 + Full Jitter 재시도 정책
+ *
+ * - 대기 상한: min(maxDelay, baseDelay * 2^(retryCount - 1))
+ * - 실제 대기: 0 ~ 대기 상한 사이의 임의 값 (동시에 실패한 요청들이 같은 시점에 몰리지 않도록)
+ * - 횟수 대신 시간 예산(deadline)으로 재시도 중단
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long deadlineNanos;
+
+    public ExponentialBackoffRetryPolicy(Duration baseDelay, Duration maxDelay, Duration deadline) {
+        this.baseDelayMillis = Math.max(1, baseDelay.toMillis());
+        this.maxDelayMillis = Math.max(baseDelayMillis, maxDelay.toMillis());
+        this.deadlineNanos = deadline.toNanos();
+    }
+
+    @Override
+    public long backoffMillis(int retryCount, long elapsedNanos) {
+        int shift = Math.min(Math.max(retryCount - 1, 0), 30);
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+
+        if (elapsedNanos + Duration.ofMillis(delay).toNanos() >= deadlineNanos) {
+            return STOP;
+        }
+        return delay;
+    }
+}
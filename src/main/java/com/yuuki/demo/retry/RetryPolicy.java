@@ -0,0 +1,20 @@
+package com.yuuki.demo.retry;
+
+/**
+ * 재시도 정책
+ * 실패할 때마다 다음 시도까지 대기할 시간을 결정
+ */
+public interface RetryPolicy {
+
+    /**
+     * 더 이상 재시도하지 않음
+     */
+    long STOP = -1;
+
+    /**
+     * @param retryCount   지금까지 실패한 횟수 (1부터 시작)
+     * @param elapsedNanos 첫 시도부터 지난 시간
+     * @return 다음 시도 전 대기 시간(ms), 재시도하지 않으면 {@link #STOP}
+     */
+    long backoffMillis(int retryCount, long elapsedNanos);
+}
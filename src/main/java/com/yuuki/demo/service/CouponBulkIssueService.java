@@ -0,0 +1,260 @@
+package com.yuuki.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yuuki.demo.cache.SoldOutCache;
+import com.yuuki.demo.config.BulkIssueProperties;
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.BulkIssueProgress;
+import com.yuuki.demo.repository.CouponIssueJdbcRepository;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.repository.CouponStockBucketRepository;
+import com.yuuki.demo.stream.CouponStockStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 미리 정해진 사용자 목록에 쿠폰 대량 발급
+ *
+ * 특징:
+ * - 사용자 ID 목록(NDJSON 또는 CSV)을 스트림으로 읽어 chunkSize 단위로 처리 (전체 목록을 메모리에 올리지 않음)
+ * - 청크마다 한 트랜잭션: 비관적 락 1회 + 이미 발급받은 사용자 제외(IN 조회) 1회
+ *   + 남은 재고만큼 발급 수량 한 번에 예약(UPDATE 1회) + JDBC 배치 INSERT
+ * - 청크 처리 결과를 NDJSON 한 줄씩 바로 응답
+ * - 읽을 수 없는 줄(잘못된 JSON, 숫자가 아닌 ID)은 invalid 로 집계하고 다음 줄 계속 처리
+ * - 목록을 읽다가 실패해도 마지막 줄에 그때까지의 합계(done=true, error) 응답
+ *
+ * 단점:
+ * - 청크 단위로 커밋되므로 중간에 실패하면 앞선 청크의 발급은 유지됨 (같은 목록으로 다시 요청하면 이어서 발급)
+ * - Redis 전략으로 발급 중인 쿠폰은 Redis 재고에 반영되지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponBulkIssueService {
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueJdbcRepository couponIssueJdbcRepository;
+    private final CouponStockBucketRepository couponStockBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SoldOutCache soldOutCache;
+    private final CouponQueryService couponQueryService;
+    private final CouponStockStream couponStockStream;
+    private final BulkIssueProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 응답을 시작하기 전에 대량 발급이 가능한 쿠폰인지 확인
+     */
+    @Transactional(readOnly = true)
+    public void validate(Long couponId) {
+        if (!couponRepository.existsById(couponId)) {
+            throw new IllegalArgumentException("존재하지 않는 쿠폰입니다.");
+        }
+        if (couponStockBucketRepository.existsByCouponId(couponId)) {
+            throw new IllegalStateException("재고가 분할된 쿠폰은 대량 발급할 수 없습니다.");
+        }
+    }
+
+    /**
+     * @param userIds  한 줄에 사용자 ID 하나 (숫자, {"userId": 1} 형식의 NDJSON, 또는 쉼표로 구분한 CSV)
+     * @param progress 청크마다 BulkIssueProgress 를 한 줄씩 기록
+     */
+    public BulkIssueProgress bulkIssue(Long couponId, InputStream userIds, OutputStream progress) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(userIds, StandardCharsets.UTF_8));
+        int chunkSize = properties.getChunkSize();
+        Set<Long> chunk = new LinkedHashSet<>(chunkSize * 2);
+
+        long soldOutEpoch = soldOutCache.epoch(couponId);
+        long stockVersion = couponStockStream.version(couponId);
+        Totals totals = new Totals();
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                for (String token : tokens(line)) {
+                    Long userId;
+                    try {
+                        userId = parseUserId(token);
+                    } catch (JsonProcessingException | IllegalArgumentException e) {
+                        // 읽을 수 없는 값은 건너뛰고 계속 처리
+                        log.debug("대량 발급 - 읽을 수 없는 사용자 ID: {}", token, e);
+                        totals.invalid++;
+                        continue;
+                    }
+                    if (userId == null) {
+                        continue;
+                    }
+                    totals.received++;
+                    if (!chunk.add(userId)) {
+                        // 같은 청크 안의 중복
+                        totals.duplicated++;
+                    }
+                    if (chunk.size() == chunkSize) {
+                        issueChunk(couponId, chunk, totals);
+                        write(progress, totals.progress(false, null));
+                        chunk.clear();
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                issueChunk(couponId, chunk, totals);
+            }
+        } catch (RuntimeException | IOException e) {
+            log.warn("대량 발급 실패 - couponId: {}, 처리한 청크 수: {}", couponId, totals.chunks, e);
+            BulkIssueProgress failed = totals.progress(true, e.getMessage());
+            write(progress, failed);
+            return failed;
+        } finally {
+            afterIssue(couponId, totals, soldOutEpoch, stockVersion);
+        }
+
+        BulkIssueProgress done = totals.progress(true, null);
+        write(progress, done);
+        return done;
+    }
+
+    /**
+     * 청크 하나를 한 트랜잭션으로 발급
+     */
+    private void issueChunk(Long couponId, Set<Long> userIds, Totals totals) {
+        totals.chunks++;
+
+        // 재고 소진이 확인된 뒤에는 DB를 조회하지 않고 소진으로 집계
+        if (totals.remainingQuantity != null && totals.remainingQuantity == 0) {
+            totals.soldOut += userIds.size();
+            return;
+        }
+
+        ChunkResult result = transactionTemplate.execute(status -> {
+
+            // 1. 비관적 락으로 쿠폰 조회 (청크당 한 번)
+            Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+
+            // 2. 이미 발급받은 사용자 제외
+            Set<Long> holders = new HashSet<>(couponIssueRepository.findUserIdsByCouponIdAndUserIdIn(couponId, userIds));
+            List<CouponIssue> couponIssues = new ArrayList<>(userIds.size() - holders.size());
+
+            // 3. 남은 재고만큼 발급 대상 선정
+            int remaining = coupon.getRemainingQuantity();
+            int soldOut = 0;
+            for (Long userId : userIds) {
+                if (holders.contains(userId)) {
+                    continue;
+                }
+                if (couponIssues.size() == remaining) {
+                    soldOut++;
+                    continue;
+                }
+                couponIssues.add(CouponIssue.builder()
+                        .couponId(couponId)
+                        .userId(userId)
+                        .build());
+            }
+
+            // 4. 발급 수량 한 번에 예약 + JDBC 배치 INSERT
+            if (!couponIssues.isEmpty()) {
+                couponRepository.increaseIssuedQuantity(couponId, couponIssues.size(), LocalDateTime.now());
+                couponIssueJdbcRepository.batchInsert(couponIssues);
+            }
+            return new ChunkResult(couponIssues.size(), holders.size(), soldOut, remaining - couponIssues.size());
+        });
+
+        totals.issued += result.issued();
+        totals.duplicated += result.duplicated();
+        totals.soldOut += result.soldOut();
+        totals.remainingQuantity = result.remainingQuantity();
+    }
+
+    /**
+     * 발급된 수량을 캐시에 반영
+     */
+    private void afterIssue(Long couponId, Totals totals, long soldOutEpoch, long stockVersion) {
+        if (totals.issued == 0) {
+            return;
+        }
+        couponQueryService.evict(couponId);
+        if (totals.remainingQuantity != null) {
+            couponStockStream.publish(couponId, totals.remainingQuantity, stockVersion);
+        }
+        if (totals.remainingQuantity != null && totals.remainingQuantity == 0) {
+            soldOutCache.markSoldOut(couponId, soldOutEpoch);
+        }
+    }
+
+    /**
+     * NDJSON 은 한 줄 전체, CSV 는 쉼표로 나눈 값
+     */
+    private String[] tokens(String line) {
+        String trimmed = line.trim();
+        return trimmed.startsWith("{") ? new String[]{trimmed} : trimmed.split(",");
+    }
+
+    /**
+     * @return 빈 값 / CSV 헤더면 null
+     * @throws JsonProcessingException  잘못된 JSON
+     * @throws IllegalArgumentException userId 가 없거나 숫자가 아님
+     */
+    private Long parseUserId(String token) throws JsonProcessingException {
+        String value = token.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.startsWith("{")) {
+            JsonNode userId = objectMapper.readTree(value).get("userId");
+            if (userId == null || !userId.canConvertToLong()) {
+                throw new IllegalArgumentException("userId 가 없거나 숫자가 아닙니다.");
+            }
+            return userId.asLong();
+        }
+        if (!Character.isDigit(value.charAt(0))) {
+            // CSV 헤더 (userId 등)
+            return null;
+        }
+        return Long.parseLong(value);
+    }
+
+    private void write(OutputStream out, BulkIssueProgress progress) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+    }
+
+    private record ChunkResult(int issued, int duplicated, int soldOut, int remainingQuantity) {
+    }
+
+    private static class Totals {
+        private int chunks;
+        private long received;
+        private long issued;
+        private long duplicated;
+        private long soldOut;
+        private long invalid;
+        private Integer remainingQuantity;
+
+        private BulkIssueProgress progress(boolean done, String error) {
+            return new BulkIssueProgress(done, chunks, received, issued, duplicated, soldOut, invalid,
+                    remainingQuantity, error);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.yuuki.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yuuki.demo.config.WriteBehindProperties;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.repository.CouponIssueJdbcRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 쿠폰 발급 이력 비동기 저장 (write-behind)
+ *
+ * 발급 여부는 호출하는 쪽(Redis 등)에서 이미 결정했다고 보고,
+ * 발급 이력을 제한된 크기의 대기열에 넣은 뒤 별도 스레드가 모아서 배치 INSERT
+ *
+ * - batchSize 만큼 모이거나 flushInterval 이 지나면 저장
+ * - 대기열이 가득 차면 offerTimeout 만큼 기다린 뒤 거절 (backpressure)
+ * - 배치 저장이 실패하면 한 건씩 INSERT IGNORE 로 다시 저장 (한 건의 오류가 배치 전체를 막지 않음)
+ *   이미 저장된 (coupon_id, user_id) 는 사용자가 쿠폰을 가지고 있으므로 무시
+ * - 한 건씩 저장도 실패한 이력은 저장될 때까지 계속 다시 저장 (응답한 발급은 취소하지 않음)
+ *   다시 저장할 이력이 남아 있는 동안 새 이력을 꺼내지 않으므로 DB 장애가 길어지면 대기열이 차서 새 발급을 거절
+ * - 애플리케이션 종료 시 새 이력을 받지 않고, 작성 스레드가 끝난 뒤 남은 이력을 모두 저장
+ *   그래도 저장하지 못한 이력은 dead-letter 파일에 기록하고 다음 시작 시 다시 저장
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssueWriteBehind {
+
+    private final WriteBehindProperties properties;
+    private final CouponIssueJdbcRepository couponIssueJdbcRepository;
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * enqueue 는 읽기 락, stop 은 쓰기 락 (종료가 시작된 뒤에는 대기열에 들어가지 않음)
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /**
+     * 저장에 실패해 다시 저장할 이력 (작성 스레드가 사용, 작성 스레드가 끝난 뒤에는 stop 에서 사용)
+     */
+    private final List<CouponIssue> retries = new ArrayList<>();
+
+    private BlockingQueue<CouponIssue> queue;
+    private Thread writer;
+    private Counter deadLetterCounter;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        deadLetterCounter = Counter.builder("coupon.write-behind.dead-letter")
+                .description("종료할 때까지 저장하지 못해 dead-letter 파일에 기록한 이력 수")
+                .register(meterRegistry);
+        replayDeadLetters();
+        running = true;
+        writer = new Thread(this::run, "coupon-issue-writer");
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+
+        // 작성 스레드가 남은 이력을 저장하고 끝날 때까지 대기 (시간을 넘기면 중단시킨 뒤 끝날 때까지 대기)
+        writer.join(properties.getFlushInterval().toMillis() * 10);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join();
+        }
+
+        // 작성 스레드가 끝낸 뒤에만 남은 이력을 직접 저장 (두 스레드가 동시에 저장하지 않음)
+        List<CouponIssue> remaining = new ArrayList<>(retries);
+        retries.clear();
+        queue.drainTo(remaining);
+        int deadLettered = 0;
+        for (int from = 0; from < remaining.size(); from += properties.getBatchSize()) {
+            List<CouponIssue> failed = flush(remaining.subList(from, Math.min(from + properties.getBatchSize(), remaining.size())));
+            failed.forEach(this::writeDeadLetter);
+            deadLettered += failed.size();
+        }
+        log.info("발급 이력 write-behind 종료 - 종료 시 저장 건수: {}, dead-letter: {}",
+                remaining.size() - deadLettered, deadLettered);
+    }
+
+    /**
+     * 발급 이력을 대기열에 추가
+     * 추가된 이력은 취소되지 않고 저장될 때까지 다시 저장 (종료까지 저장하지 못하면 다음 시작 시 저장)
+     *
+     * @return 대기열이 가득 찼거나 종료 중이라 추가하지 못하면 false
+     */
+    public boolean enqueue(CouponIssue couponIssue) {
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            return queue.offer(couponIssue,
+                    properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저장 대기 중인 이력 수
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<CouponIssue> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty() || !retries.isEmpty()) {
+            try {
+                // 1. 저장에 실패한 이력이 있으면 새 이력보다 먼저 다시 저장
+                if (!retries.isEmpty()) {
+                    List<CouponIssue> head = retries.subList(0, Math.min(batchSize, retries.size()));
+                    batch.addAll(head);
+                    head.clear();
+                } else if (!collect(batch, batchSize, flushIntervalNanos)) {
+                    continue;
+                }
+
+                // 2. 실패한 이력은 다시 저장 대상에 두고, 바로 재시도하지 않고 잠시 대기 (DB 장애 등)
+                List<CouponIssue> failed = flush(batch);
+                if (!failed.isEmpty()) {
+                    retries.addAll(failed);
+                    TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * batchSize 만큼 모이거나 flushInterval 이 지날 때까지 대기열에서 수집
+     *
+     * @return 수집한 이력이 없으면 false
+     */
+    private boolean collect(List<CouponIssue> batch, int batchSize, long flushIntervalNanos)
+            throws InterruptedException {
+        CouponIssue first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long waitNanos = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || waitNanos <= 0 || !running) {
+                break;
+            }
+            CouponIssue next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    /**
+     * 발급 이력 배치 INSERT + 쿠폰별 발급 수량 반영을 하나의 트랜잭션으로 처리
+     * 실패하면 한 건씩 저장
+     *
+     * @return 저장하지 못한 이력
+     */
+    private List<CouponIssue> flush(List<CouponIssue> couponIssues) {
+        Map<Long, Long> issuedCounts = couponIssues.stream()
+                .collect(Collectors.groupingBy(CouponIssue::getCouponId, Collectors.counting()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                couponIssueJdbcRepository.batchInsert(couponIssues);
+                LocalDateTime now = LocalDateTime.now();
+                issuedCounts.forEach((couponId, count) ->
+                        couponRepository.increaseIssuedQuantity(couponId, count.intValue(), now));
+            });
+            return List.of();
+        } catch (RuntimeException e) {
+            log.warn("발급 이력 배치 저장 실패, 한 건씩 저장 - 건수: {}", couponIssues.size(), e);
+        }
+
+        List<CouponIssue> failed = new ArrayList<>();
+        for (CouponIssue couponIssue : couponIssues) {
+            if (!flushOne(couponIssue)) {
+                failed.add(couponIssue);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 한 건 저장 (이미 저장된 사용자면 발급 수량은 그대로)
+     *
+     * @return 저장했거나 이미 저장되어 있으면 true
+     */
+    private boolean flushOne(CouponIssue couponIssue) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (couponIssueJdbcRepository.insertIgnore(couponIssue) == 1) {
+                    couponRepository.increaseIssuedQuantity(couponIssue.getCouponId(), 1, LocalDateTime.now());
+                } else {
+                    log.warn("이미 저장된 발급 이력 - couponId: {}, userId: {}",
+                            couponIssue.getCouponId(), couponIssue.getUserId());
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("발급 이력 저장 실패, 다시 저장 - couponId: {}, userId: {}",
+                    couponIssue.getCouponId(), couponIssue.getUserId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 이전 실행에서 종료할 때까지 저장하지 못한 이력을 다시 저장 대상에 추가
+     * 한 건씩 저장은 INSERT IGNORE 이므로 이미 저장된 이력이 섞여 있어도 발급 수량이 중복 반영되지 않음
+     */
+    private void replayDeadLetters() {
+        Path file = properties.getDeadLetterFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                retries.add(CouponIssue.builder()
+                        .couponId(node.get("couponId").asLong())
+                        .userId(node.get("userId").asLong())
+                        .issuedAt(LocalDateTime.parse(node.get("issuedAt").asText()))
+                        .build());
+            }
+            // 읽은 이력은 저장될 때까지 다시 저장하고, 종료까지 저장하지 못하면 다시 기록
+            Files.delete(file);
+        } catch (IOException | RuntimeException e) {
+            // 기록을 잃지 않도록 파일을 그대로 두고 시작 중단
+            throw new IllegalStateException("dead-letter 파일을 읽지 못했습니다: " + file, e);
+        }
+        log.info("dead-letter 발급 이력 다시 저장 - 건수: {}", retries.size());
+    }
+
+    private void writeDeadLetter(CouponIssue couponIssue) {
+        deadLetterCounter.increment();
+        String line = String.format("{\"couponId\":%d,\"userId\":%d,\"issuedAt\":\"%s\"}%n",
+                couponIssue.getCouponId(), couponIssue.getUserId(), couponIssue.getIssuedAt());
+        Path file = properties.getDeadLetterFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            log.error("dead-letter 기록 실패 - {}", line.trim(), e);
+            return;
+        }
+        log.error("발급 이력을 저장하지 못해 dead-letter 기록, 다음 시작 시 다시 저장 - couponId: {}, userId: {}, issuedAt: {}",
+                couponIssue.getCouponId(), couponIssue.getUserId(), couponIssue.getIssuedAt());
+    }
+}
@@ -0,0 +1,174 @@
+package com.yuuki.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.yuuki.demo.config.CouponCacheProperties;
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.dto.CouponResponse;
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.repository.CouponStockBucketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 쿠폰 조회
+ *
+ * - 재고가 분할된 쿠폰은 버킷 발급 수량을 합산하여 응답
+ * - 로컬 캐시(Caffeine) → Redis 캐시(선택) → DB 순서로 조회 (read-through)
+ * - 캐시는 coupon.cache.ttl 이 지나면 만료되므로 조회 결과가 늦게 반영되는 시간은 ttl 이내
+ * - 발급 응답의 남은 수량으로 로컬 캐시를 DB 조회 없이 갱신, 수량이 늘어나면 캐시 삭제
+ * - 캐시 적중률: /actuator/metrics/cache.gets?tag=cache:coupon, coupon.cache.redis.gets
+ */
+@Slf4j
+@Service
+public class CouponQueryService {
+
+    private final CouponRepository couponRepository;
+    private final CouponStockBucketRepository couponStockBucketRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CouponCacheProperties properties;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Cache<Long, CouponResponse> cache;
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+
+    public CouponQueryService(CouponRepository couponRepository,
+                              CouponStockBucketRepository couponStockBucketRepository,
+                              StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              CouponCacheProperties properties,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.couponStockBucketRepository = couponStockBucketRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        // 쿠폰 행과 버킷 합계를 같은 스냅샷에서 읽도록 읽기 전용 트랜잭션으로 묶음
+        // (캐시 적재 경로는 자기 호출이라 @Transactional 이 적용되지 않으므로 직접 트랜잭션 시작)
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+
+        // 만료 시각은 적재 시점 기준으로만 계산 (refresh 로 값을 바꿔도 ttl 이 늘어나지 않음)
+        long ttlNanos = properties.getTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new Expiry<Long, CouponResponse>() {
+                    @Override
+                    public long expireAfterCreate(Long couponId, CouponResponse response, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long couponId, CouponResponse response,
+                                                  long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long couponId, CouponResponse response,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "coupon");
+        this.redisHitCounter = Counter.builder("coupon.cache.redis.gets").tag("result", "hit").register(meterRegistry);
+        this.redisMissCounter = Counter.builder("coupon.cache.redis.gets").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 캐시를 거쳐 쿠폰 조회
+     */
+    public CouponResponse getCoupon(Long couponId) {
+        return cache.get(couponId, this::loadFromRedisOrDb);
+    }
+
+    /**
+     * 캐시를 거치지 않고 DB에서 쿠폰 조회
+     */
+    public CouponResponse getCouponFromDb(Long couponId) {
+        return readOnlyTransactionTemplate.execute(status -> loadFromDb(couponId));
+    }
+
+    private CouponResponse loadFromDb(Long couponId) {
+        Coupon coupon = couponRepository.findById(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+        if (!coupon.isSharded()) {
+            return CouponResponse.from(coupon);
+        }
+        // 재고 분할 쿠폰은 버킷에서 발급한 수량을 합산 (총 수량은 쿠폰 행 그대로)
+        long bucketIssued = couponStockBucketRepository.sumIssuedQuantityByCouponId(couponId);
+        return CouponResponse.of(coupon,
+                coupon.getTotalQuantity(), coupon.getIssuedQuantity() + (int) bucketIssued);
+    }
+
+    /**
+     * 발급 결과로 캐시된 남은 수량 갱신
+     * 동시에 끝난 요청의 응답 순서가 뒤섞일 수 있으므로 더 적은 남은 수량만 반영
+     * 값만 바꾸고 만료 시각은 처음 적재한 시점 기준을 유지
+     */
+    public void refresh(Long couponId, int remainingQuantity) {
+        cache.asMap().computeIfPresent(couponId, (id, cached) ->
+                remainingQuantity < cached.getRemainingQuantity()
+                        ? cached.withRemainingQuantity(remainingQuantity)
+                        : cached);
+    }
+
+    public void evict(Long couponId) {
+        cache.invalidate(couponId);
+        if (properties.isRedisEnabled()) {
+            redisTemplate.delete(redisKey(couponId));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onQuantityIncreased(CouponQuantityIncreasedEvent event) {
+        evict(event.couponId());
+    }
+
+    private CouponResponse loadFromRedisOrDb(Long couponId) {
+        if (!properties.isRedisEnabled()) {
+            return getCouponFromDb(couponId);
+        }
+
+        String cached = redisTemplate.opsForValue().get(redisKey(couponId));
+        if (cached != null) {
+            try {
+                CouponResponse response = objectMapper.readValue(cached, CouponResponse.class);
+                redisHitCounter.increment();
+                return response;
+            } catch (JsonProcessingException e) {
+                log.warn("Redis 쿠폰 캐시 역직렬화 실패 - couponId: {}", couponId, e);
+            }
+        }
+        redisMissCounter.increment();
+
+        CouponResponse response = getCouponFromDb(couponId);
+        try {
+            redisTemplate.opsForValue().set(redisKey(couponId), objectMapper.writeValueAsString(response),
+                    properties.getRedisTtl());
+        } catch (JsonProcessingException e) {
+            log.warn("Redis 쿠폰 캐시 직렬화 실패 - couponId: {}", couponId, e);
+        }
+        return response;
+    }
+
+    private String redisKey(Long couponId) {
+        return "coupon:{" + couponId + "}:view";
+    }
+}
@@ -3,9 +3,12 @@ package com.yuuki.demo.service;
 import com.yuuki.demo.domain.Coupon;
 import com.yuuki.demo.domain.CouponIssue;
 import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
 import com.yuuki.demo.repository.CouponIssueRepository;
 import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.repository.CouponStockBucketRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class CouponService {
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponStockBucketRepository couponStockBucketRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
@@ -25,12 +30,12 @@ public class CouponService {
 
         // 2. 이미 발급받은 사용자인지 확인
         if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
-            return CouponIssueResponse.fail("이미 발급받은 쿠폰입니다.");
+            return CouponIssueResponse.duplicate();
         }
 
         // 3. 쿠폰 발급 가능 여부 확인 및 발급
         if (!coupon.canIssue()) {
-            return CouponIssueResponse.fail("쿠폰이 모두 발급되었습니다.");
+            return CouponIssueResponse.unavailable(coupon);
         }
 
         coupon.issue();
@@ -47,4 +52,20 @@ public class CouponService {
         return CouponIssueResponse.success(couponIssue.getId(), coupon.getRemainingQuantity());
     }
 
+    /**
+     * 쿠폰 총 수량 증가
+     * 커밋 후 CouponQuantityIncreasedEvent 로 재고 소진 표시, Redis 재고 등을 갱신
+     */
+    @Transactional
+    public Coupon increaseQuantity(Long couponId, int amount) {
+        Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+        if (couponStockBucketRepository.existsByCouponId(couponId)) {
+            throw new IllegalStateException("재고가 분할된 쿠폰은 수량을 늘릴 수 없습니다.");
+        }
+
+        coupon.increaseTotalQuantity(amount);
+        eventPublisher.publishEvent(new CouponQuantityIncreasedEvent(couponId, amount, coupon.getTotalQuantity()));
+        return coupon;
+    }
 }
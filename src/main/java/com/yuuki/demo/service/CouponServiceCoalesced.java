@@ -0,0 +1,279 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.config.CoalescingProperties;
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 요청 묶음 처리(coalescing)를 사용한 동시성 제어
+ *
+ * 특징:
+ * - 발급 요청을 쿠폰별 대기열에 넣고, 쿠폰마다 하나의 작성 스레드만 대기열을 처리 (single writer)
+ * - 최대 maxBatchSize 개 또는 maxWait 동안 모인 요청을 한 트랜잭션에서 처리
+ *   (비관적 락 1회 + 중복 확인 쿼리 1회 + 쿠폰 UPDATE 1회 + 발급 이력 배치 INSERT)
+ * - 작성 스레드는 한 쿠폰에서 maxBatchesPerDrain 개 배치까지만 처리하고 다시 제출
+ *   (요청이 몰리는 쿠폰이 작성 스레드를 계속 점유하지 않음)
+ * - 발급 여부는 메모리에서 남은 재고 기준으로 판단하고, 요청마다 CompletableFuture 로 결과 전달
+ * - 처리를 마친 빈 대기열은 맵에서 제거 (요청이 끊긴 쿠폰의 대기열이 쌓이지 않음)
+ *
+ * 장점:
+ * - 요청 수만큼 잡던 락과 트랜잭션이 배치 수만큼으로 줄어듦
+ *
+ * 단점:
+ * - 요청이 적을 때는 maxWait 만큼 응답이 늦어질 수 있음
+ * - 배치 중 하나라도 DB 오류가 나면 배치 전체가 실패
+ */
+@Slf4j
+@Service
+public class CouponServiceCoalesced {
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CoalescingProperties properties;
+    private final CouponIssueMetrics issueMetrics;
+
+    private final Map<Long, CouponQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+
+    public CouponServiceCoalesced(CouponRepository couponRepository,
+                                  CouponIssueRepository couponIssueRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  CoalescingProperties properties,
+                                  CouponIssueMetrics issueMetrics) {
+        this.couponRepository = couponRepository;
+        this.couponIssueRepository = couponIssueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.issueMetrics = issueMetrics;
+        this.writers = Executors.newFixedThreadPool(properties.getWorkerThreads(),
+                new CustomizableThreadFactory("coupon-coalescer-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdown();
+    }
+
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        PendingIssue pending = new PendingIssue(userId, new CompletableFuture<>());
+        // 빈 대기열 제거(prune)와 겹치지 않도록 맵 안에서 추가
+        CouponQueue queue = queues.compute(couponId, (id, existing) -> {
+            CouponQueue target = existing != null ? existing : new CouponQueue(id);
+            target.requests.add(pending);
+            return target;
+        });
+        schedule(queue);
+
+        try {
+            try {
+                return pending.result().get(properties.getResponseTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // 아직 대기열에 있으면(배치에 포함되기 전) 꺼내서 취소, 처리되지 않음
+                if (queue.requests.remove(pending)) {
+                    return CouponIssueResponse.fail("발급 처리 시간이 초과되었습니다. 다시 시도해주세요.");
+                }
+                // 이미 배치에 포함되었으면 발급되었을 수 있으므로 배치 결과를 기다림
+                return pending.result().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CouponIssueResponse.fail("쿠폰 발급 중 오류가 발생했습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 처리 중인 작성 스레드가 없으면 쿠폰 대기열 처리 제출
+     */
+    private void schedule(CouponQueue queue) {
+        if (!queue.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writers.execute(() -> drain(queue));
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 대기열에 남은 요청은 처리되지 않으므로 실패 응답
+            queue.draining.set(false);
+            List<PendingIssue> rejected = new ArrayList<>();
+            queue.requests.drainTo(rejected);
+            rejected.forEach(pending -> pending.result().complete(
+                    CouponIssueResponse.fail("발급을 처리할 수 없습니다. 잠시 후 다시 시도해주세요.")));
+        }
+    }
+
+    /**
+     * 최대 maxBatchesPerDrain 개 배치 처리, 요청이 남아 있으면 다시 제출
+     */
+    private void drain(CouponQueue queue) {
+        try {
+            for (int i = 0; i < properties.getMaxBatchesPerDrain() && !queue.requests.isEmpty(); i++) {
+                List<PendingIssue> batch = collect(queue.requests);
+                if (!batch.isEmpty()) {
+                    process(queue.couponId, batch);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("발급 대기열 처리 실패 - couponId: {}", queue.couponId, e);
+        } finally {
+            queue.draining.set(false);
+            // 처리 종료 표시 전후로 들어온 요청이 있으면 다시 제출 (다른 쿠폰의 제출 뒤에 실행)
+            if (!queue.requests.isEmpty()) {
+                schedule(queue);
+            } else {
+                prune(queue);
+            }
+        }
+    }
+
+    /**
+     * 비어 있는 대기열을 맵에서 제거
+     * 요청 추가도 맵 안에서 하므로 제거와 추가가 겹치지 않음 (제거 뒤의 요청은 새 대기열에 들어감)
+     */
+    private void prune(CouponQueue queue) {
+        queues.computeIfPresent(queue.couponId, (id, existing) ->
+                existing == queue && existing.requests.isEmpty() && !existing.draining.get() ? null : existing);
+    }
+
+    /**
+     * maxBatchSize 개가 모이거나 maxWait 가 지날 때까지 요청 수집
+     * 기다리는 중에 중단되면 그때까지 모은 요청으로 처리 (꺼낸 요청을 잃지 않음)
+     */
+    private List<PendingIssue> collect(BlockingQueue<PendingIssue> requests) {
+        int maxBatchSize = properties.getMaxBatchSize();
+        List<PendingIssue> batch = new ArrayList<>(maxBatchSize);
+        requests.drainTo(batch, maxBatchSize);
+
+        long deadline = System.nanoTime() + properties.getMaxWait().toNanos();
+        while (batch.size() < maxBatchSize) {
+            long waitNanos = deadline - System.nanoTime();
+            if (waitNanos <= 0) {
+                break;
+            }
+            PendingIssue next;
+            try {
+                next = requests.poll(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            requests.drainTo(batch, maxBatchSize - batch.size());
+        }
+        return batch;
+    }
+
+    /**
+     * 배치 하나를 하나의 트랜잭션으로 처리하고, 커밋 후 요청별 결과 전달
+     */
+    private void process(Long couponId, List<PendingIssue> batch) {
+        List<CouponIssueResponse> responses;
+        try {
+            responses = transactionTemplate.execute(status -> {
+
+                // 1. 비관적 락으로 쿠폰 조회 (배치당 한 번)
+                long lockRequestedAt = System.nanoTime();
+                Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
+                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+                issueMetrics.recordRowLockAcquired("coalesced", couponId, lockRequestedAt);
+
+                // 2. 배치에 포함된 사용자 중 이미 발급받은 사용자 조회 (배치당 한 번)
+                Set<Long> userIds = new HashSet<>();
+                batch.forEach(pending -> userIds.add(pending.userId()));
+                Set<Long> issuedUserIds = new HashSet<>(
+                        couponIssueRepository.findUserIdsByCouponIdAndUserIdIn(couponId, userIds));
+
+                // 3. 도착 순서대로 메모리에서 발급 여부 판단
+                List<CouponIssueResponse> results = new ArrayList<>(batch.size());
+                List<CouponIssue> couponIssues = new ArrayList<>();
+                for (PendingIssue pending : batch) {
+                    if (issuedUserIds.contains(pending.userId())) {
+                        results.add(CouponIssueResponse.duplicate());
+                        continue;
+                    }
+                    if (!coupon.canIssue()) {
+                        results.add(CouponIssueResponse.unavailable(coupon));
+                        continue;
+                    }
+
+                    // 발급한 사용자만 기록 (재고가 없어 거절된 사용자의 다음 요청은 중복이 아닌 소진)
+                    coupon.issue();
+                    issuedUserIds.add(pending.userId());
+                    CouponIssue couponIssue = CouponIssue.builder()
+                            .couponId(couponId)
+                            .userId(pending.userId())
+                            .build();
+                    couponIssues.add(couponIssue);
+                    results.add(null);
+                }
+
+                // 4. 발급 이력 배치 INSERT + 쿠폰 UPDATE 한 번
+                issueMetrics.recordInsert("coalesced", couponId, () -> couponIssueRepository.saveAllAndFlush(couponIssues));
+
+                int remaining = coupon.getRemainingQuantity() + couponIssues.size();
+                int issuedIndex = 0;
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i) == null) {
+                        remaining--;
+                        results.set(i, CouponIssueResponse.success(couponIssues.get(issuedIndex++).getId(), remaining));
+                    }
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            log.warn("발급 배치 처리 실패 - couponId: {}, 요청 수: {}", couponId, batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(responses.get(i));
+        }
+    }
+
+    private static class CouponQueue {
+        private final Long couponId;
+        private final BlockingQueue<PendingIssue> requests = new LinkedBlockingQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private CouponQueue(Long couponId) {
+            this.couponId = couponId;
+        }
+    }
+
+    private record PendingIssue(Long userId, CompletableFuture<CouponIssueResponse> result) {
+    }
+}
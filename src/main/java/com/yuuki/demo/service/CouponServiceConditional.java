@@ -0,0 +1,128 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조건부 UPDATE를 사용한 동시성 제어
+ *
+ * 특징:
+ * - UPDATE coupon SET issued_quantity = issued_quantity + 1
+ *   WHERE id = ? AND issued_quantity < total_quantity
+ * - 쿠폰을 읽어서 수정하는 대신(read-modify-write) DB가 재고 확인과 차감을 한 번에 처리
+ * - 반영된 행 수(affected rows)로 발급 여부를 판단
+ * - 남은 수량을 다시 조회하지 않음 (응답의 remainingQuantity 는 비어 있음)
+ * - 같은 사용자의 동시 요청이 중복 확인을 함께 통과하면 유니크 인덱스 위반을 중복 발급으로 처리
+ *
+ * 장점:
+ * - SELECT ... FOR UPDATE 없이 UPDATE 한 번만 행 락을 잡음
+ * - 낙관적 락처럼 충돌 후 재시도할 필요가 없음
+ *
+ * 단점:
+ * - 도메인 로직(Coupon.issue)이 쿼리로 옮겨감
+ * - 여전히 하나의 쿠폰 행에 UPDATE가 몰림
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponServiceConditional {
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponIssueMetrics issueMetrics;
+
+    /**
+     * 중복 확인 후 조건부 UPDATE 발급
+     *
+     * 예외가 발생하면 트랜잭션이 rollback-only 로 표시되므로, 중복 예외는 트랜잭션 밖에서 처리
+     */
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        try {
+            return transactionTemplate.execute(status -> {
+
+                // 1. 이미 발급받은 사용자인지 확인
+                if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
+                    return CouponIssueResponse.duplicate();
+                }
+
+                // 2. 조건부 UPDATE로 재고 확인 및 차감 (커밋까지 쿠폰 행 락 유지)
+                long lockRequestedAt = System.nanoTime();
+                int updated = couponRepository.increaseIssuedQuantityIfAvailable(couponId, LocalDateTime.now());
+                issueMetrics.recordRowLockAcquired("conditional", couponId, lockRequestedAt);
+                if (updated == 0) {
+                    return CouponIssueResponse.unavailable(getCoupon(couponId));
+                }
+
+                // 3. 쿠폰 발급 이력 저장 (동시에 들어온 같은 사용자의 요청이면 유니크 인덱스 위반)
+                CouponIssue couponIssue = CouponIssue.builder()
+                        .couponId(couponId)
+                        .userId(userId)
+                        .build();
+                issueMetrics.recordInsert("conditional", couponId,
+                        () -> couponIssueRepository.saveAndFlush(couponIssue));
+                return CouponIssueResponse.success(couponIssue.getId(), null);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 트랜잭션이 롤백되어 차감한 재고도 되돌아감
+            return CouponIssueResponse.duplicate();
+        }
+    }
+
+    /**
+     * 발급 이력을 먼저 저장하는 조건부 UPDATE 발급 (insert-first)
+     *
+     * 중복 발급 확인 쿼리(existsByCouponIdAndUserId) 대신 idx_coupon_user 유니크 인덱스로 중복을 걸러냄
+     * - INSERT가 유니크 인덱스를 위반하면 중복 발급으로 판단
+     * - INSERT 후에 UPDATE 하므로 쿠폰 행 락은 커밋 직전에만 잡힘
+     * - 재고가 없으면 트랜잭션을 롤백하여 저장한 발급 이력도 취소
+     *
+     * 예외가 발생하면 트랜잭션이 rollback-only 로 표시되므로, 중복 예외는 트랜잭션 밖에서 처리
+     */
+    public CouponIssueResponse issueCouponInsertFirst(Long couponId, Long userId) {
+        try {
+            return transactionTemplate.execute(status -> {
+
+                // 1. 쿠폰 발급 이력 저장 (중복이면 유니크 인덱스 위반)
+                CouponIssue couponIssue = issueMetrics.recordInsert("insert-first", couponId,
+                        () -> couponIssueRepository.saveAndFlush(CouponIssue.builder()
+                                .couponId(couponId)
+                                .userId(userId)
+                                .build()));
+
+                // 2. 조건부 UPDATE로 재고 확인 및 차감
+                long lockRequestedAt = System.nanoTime();
+                int updated = couponRepository.increaseIssuedQuantityIfAvailable(couponId, LocalDateTime.now());
+                issueMetrics.recordRowLockAcquired("insert-first", couponId, lockRequestedAt);
+                if (updated == 0) {
+                    Coupon coupon = getCoupon(couponId);
+                    status.setRollbackOnly();
+                    return CouponIssueResponse.unavailable(coupon);
+                }
+                return CouponIssueResponse.success(couponIssue.getId(), null);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // coupon_issue 의 유니크 제약은 idx_coupon_user 뿐 (ID는 TSID)
+            return CouponIssueResponse.duplicate();
+        }
+    }
+
+    /**
+     * 발급하지 못했을 때 소진 / 재고 분할 / 존재하지 않는 쿠폰 구분용 조회
+     */
+    private Coupon getCoupon(Long couponId) {
+        return couponRepository.findById(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+    }
+}
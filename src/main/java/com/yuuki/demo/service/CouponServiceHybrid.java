@@ -0,0 +1,89 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.cache.SoldOutCache;
+import com.yuuki.demo.contention.ContentionMode;
+import com.yuuki.demo.contention.CouponContentionTracker;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.retry.RetryPolicy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * 경합에 따라 낙관적 락 / 비관적 락을 쿠폰별로 바꾸는 동시성 제어 (hybrid)
+ *
+ * 특징:
+ * - 처음에는 낙관적 락으로 발급하고 시도마다 충돌 여부를 CouponContentionTracker 에 기록
+ * - 최근 구간의 충돌률이 높아진 쿠폰은 비관적 락(SELECT ... FOR UPDATE)으로 전환
+ * - 비관적 락 모드에서는 행 락 대기 시간으로 경합을 측정하고, 충돌률이 충분히 내려가면 낙관적 락으로 복귀
+ * - 재시도 직전에도 모드를 다시 확인하여 전환된 쿠폰은 재시도 대신 비관적 락으로 처리
+ *
+ * 장점:
+ * - 한산한 쿠폰은 락 없이 낙관적 락 처리량
+ * - 오픈 직후처럼 몰리는 쿠폰은 재시도 폭주 없이 순서대로 처리
+ * - 발급 방식을 미리 고를 필요 없음
+ *
+ * 단점:
+ * - 전환 직전까지는 충돌 / 재시도 비용을 그대로 치름 (min-samples 만큼 표본이 쌓여야 판단)
+ * - 기준값(hot / cool 충돌률, lock-wait-threshold)을 부하에 맞게 조정해야 함
+ * - 인스턴스마다 따로 판단하므로 같은 쿠폰이 인스턴스별로 다른 방식으로 발급될 수 있음 (정합성은 두 방식 모두 보장)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponServiceHybrid {
+
+    private final CouponServiceOptimistic couponServiceOptimistic;
+    private final CouponServicePessimistic couponServicePessimistic;
+    private final CouponContentionTracker contentionTracker;
+    private final RetryPolicy retryPolicy;
+    private final SoldOutCache soldOutCache;
+    private final CouponIssueMetrics issueMetrics;
+
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        long startedAt = System.nanoTime();
+        int retryCount = 0;
+
+        try {
+            while (true) {
+                // 1. 경합이 심한 쿠폰은 비관적 락으로 발급
+                if (contentionTracker.mode(couponId) == ContentionMode.PESSIMISTIC) {
+                    // 행 락 대기 시간을 경합 표본으로 기록
+                    return couponServicePessimistic.issueCoupon(couponId, userId, "hybrid",
+                            lockWaitNanos -> contentionTracker.recordLockWait(couponId, lockWaitNanos));
+                }
+
+                // 2. 낙관적 락으로 시도 (쿠폰을 수정한 시도만 표본으로 기록)
+                try {
+                    CouponIssueResponse response = couponServiceOptimistic.issueCoupon(couponId, userId);
+                    if (response.isSuccess()) {
+                        contentionTracker.recordAttempt(couponId, false);
+                    }
+                    return response;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    contentionTracker.recordAttempt(couponId, true);
+                    retryCount++;
+                }
+
+                // 3. 재시도 전 재고 소진 / 시간 예산 확인
+                if (soldOutCache.isSoldOut(couponId)) {
+                    return CouponIssueResponse.soldOut();
+                }
+                long backoffMillis = retryPolicy.backoffMillis(retryCount, System.nanoTime() - startedAt);
+                if (backoffMillis == RetryPolicy.STOP) {
+                    return CouponIssueResponse.fail("쿠폰 발급에 실패했습니다. 다시 시도해주세요.");
+                }
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return CouponIssueResponse.fail("쿠폰 발급 중 오류가 발생했습니다.");
+                }
+            }
+        } finally {
+            issueMetrics.recordConflicts("hybrid", couponId, retryCount);
+        }
+    }
+}
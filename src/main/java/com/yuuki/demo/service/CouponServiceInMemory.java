@@ -0,0 +1,96 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.engine.CouponIssueEngine;
+import com.yuuki.demo.journal.CouponIssueJournal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 인메모리 발급 엔진을 사용한 동시성 제어
+ *
+ * 특징:
+ * - 재고 확인, 중복 확인, 재고 차감을 CouponIssueEngine 이 메모리에서 처리 (구간 락 + CAS)
+ * - 발급 이력은 write-behind 대기열에 넣고 별도 스레드가 배치 INSERT
+ * - coupon.journal.enabled=true 이면 발급 결정을 로컬 저널에 기록(group commit fsync)한 뒤 응답하고,
+ *   DB 반영은 CouponIssueReconciler 가 비동기로 처리 (서버가 비정상 종료되어도 재시작 시 저널에서 복구)
+ *
+ * 장점:
+ * - 발급 판단에 DB / 네트워크 왕복이 없어 마이크로초 단위로 응답
+ * - 사용자 ID 를 long 그대로 저장하여 Long 객체를 만들지 않음 (메모리, GC 부담 감소)
+ *
+ * 단점:
+ * - 단일 인스턴스에서만 정합성 보장 (여러 인스턴스가 같은 쿠폰을 발급하면 수량이 어긋남)
+ * - 저널 없이 사용하면 발급 이력이 저장되기 전에 서버가 비정상 종료될 때 이력 유실
+ * - DB 장애가 길어지면 저장하지 못한 이력이 쌓여 대기열이 차므로 새 발급을 거절
+ * - 발급 사용자 수에 비례해 힙 메모리 사용 (100만 명당 약 16MB)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponServiceInMemory {
+
+    private final CouponIssueEngine couponIssueEngine;
+    private final CouponIssueWriteBehind couponIssueWriteBehind;
+    private final CouponIssueJournal couponIssueJournal;
+
+    /**
+     * 메모리에서 발급 여부를 결정하고, DB 반영은 write-behind 대기열(또는 저널)에 맡김
+     * 발급 이력이 아직 저장되지 않았으므로 couponIssueId 없이 응답
+     */
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+
+        // 1. 메모리에서 재고 확인 + 중복 확인 + 차감
+        long remaining = couponIssueEngine.tryIssue(couponId, userId);
+        if (remaining == CouponIssueEngine.DUPLICATED) {
+            return CouponIssueResponse.duplicate();
+        }
+        if (remaining == CouponIssueEngine.SOLD_OUT) {
+            return CouponIssueResponse.soldOut();
+        }
+
+        // 2. 저널 사용 시 디스크에 기록된 뒤 응답
+        if (couponIssueJournal.isEnabled()) {
+            return journal(couponId, userId, remaining);
+        }
+
+        // 3. 발급 이력을 저장 대기열에 추가 (가득 차면 발급 취소)
+        CouponIssue couponIssue = CouponIssue.builder()
+                .couponId(couponId)
+                .userId(userId)
+                .build();
+        if (!couponIssueWriteBehind.enqueue(couponIssue)) {
+            couponIssueEngine.cancel(couponId, userId);
+            return CouponIssueResponse.fail("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        return CouponIssueResponse.success(null, (int) remaining);
+    }
+
+    private CouponIssueResponse journal(Long couponId, Long userId, long remaining) {
+        CompletableFuture<Void> durable;
+        try {
+            durable = couponIssueJournal.append(couponId, userId);
+        } catch (RuntimeException e) {
+            // 기록하지 못했으므로 발급 취소
+            log.warn("발급 저널 기록 실패 - couponId: {}, userId: {}", couponId, userId, e);
+            couponIssueEngine.cancel(couponId, userId);
+            return CouponIssueResponse.fail("발급을 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            // fsync 실패: 저널이 기록을 취소 처리했으므로(복구 / DB 반영 제외) 발급 취소
+            log.error("발급 저널 fsync 실패 - couponId: {}, userId: {}", couponId, userId, e);
+            couponIssueEngine.cancel(couponId, userId);
+            return CouponIssueResponse.fail("발급을 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return CouponIssueResponse.success(null, (int) remaining);
+    }
+}
@@ -1,15 +1,20 @@
 package com.yuuki.demo.service;
 
+import com.yuuki.demo.cache.SoldOutCache;
 import com.yuuki.demo.domain.Coupon;
 import com.yuuki.demo.domain.CouponIssue;
 import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
 import com.yuuki.demo.repository.CouponIssueRepository;
 import com.yuuki.demo.repository.CouponRepository;
-import lombok.RequiredArgsConstructor;
+import com.yuuki.demo.retry.RetryPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * 낙관적 락(Optimistic Lock)을 사용한 동시성 제어
@@ -31,14 +36,33 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CouponServiceOptimistic {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
-    
-    private static final int MAX_RETRIES = 50;
-    private static final long RETRY_DELAY_MS = 50;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryPolicy retryPolicy;
+    private final SoldOutCache soldOutCache;
+    private final CouponIssueMetrics issueMetrics;
+    private final Counter retryExhaustedCounter;
+
+    public CouponServiceOptimistic(CouponRepository couponRepository,
+                                   CouponIssueRepository couponIssueRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   RetryPolicy retryPolicy,
+                                   SoldOutCache soldOutCache,
+                                   CouponIssueMetrics issueMetrics,
+                                   MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.couponIssueRepository = couponIssueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retryPolicy = retryPolicy;
+        this.soldOutCache = soldOutCache;
+        this.issueMetrics = issueMetrics;
+        this.retryExhaustedCounter = Counter.builder("coupon.optimistic.retry.exhausted")
+                .description("재시도 시간 예산을 모두 사용하여 실패한 요청 수")
+                .register(meterRegistry);
+    }
 
     /**
      * 낙관적 락을 사용한 쿠폰 발급 (기본)
@@ -50,6 +74,7 @@ public class CouponServiceOptimistic {
     @Transactional
     public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
 
+        long soldOutEpoch = soldOutCache.epoch(couponId);
         try {
             // 1. 낙관적 락으로 쿠폰 조회
             Coupon coupon = couponRepository.findByIdWithOptimisticLock(couponId)
@@ -57,12 +82,16 @@ public class CouponServiceOptimistic {
 
             // 2. 이미 발급받은 사용자인지 확인
             if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
-                return CouponIssueResponse.fail("이미 발급받은 쿠폰입니다.");
+                return CouponIssueResponse.duplicate();
             }
 
             // 3. 쿠폰 발급 가능 여부 확인 및 발급
             if (!coupon.canIssue()) {
-                return CouponIssueResponse.fail("쿠폰이 모두 발급되었습니다.");
+                // 재고 분할 쿠폰은 버킷에 재고가 남아 있으므로 소진 표시하지 않음
+                if (!coupon.isSharded()) {
+                    soldOutCache.markSoldOut(couponId, soldOutEpoch);
+                }
+                return CouponIssueResponse.unavailable(coupon);
             }
 
             coupon.issue();
@@ -72,7 +101,8 @@ public class CouponServiceOptimistic {
                     .couponId(couponId)
                     .userId(userId)
                     .build();
-            couponIssueRepository.save(couponIssue);
+            // 쿠폰 UPDATE 도 함께 flush 되므로 버전 충돌은 여기서 발생
+            issueMetrics.recordInsert("optimistic", couponId, () -> couponIssueRepository.saveAndFlush(couponIssue));
 
             return CouponIssueResponse.success(couponIssue.getId(), coupon.getRemainingQuantity());
 
@@ -84,31 +114,46 @@ public class CouponServiceOptimistic {
     /**
      * 낙관적 락 재시도 로직이 포함된 쿠폰 발급
      * 
-     * 최대 재시도 횟수만큼 시도하며, 실패 시 예외 발생
+     * 재시도 정책(RetryPolicy)에 따라 지수 백오프 + jitter 로 대기하며,
+     * 시간 예산을 모두 쓰거나 쿠폰 재고 소진이 확인되면 재시도 중단
+     *
+     * 같은 클래스 안의 호출은 @Transactional 이 적용되지 않으므로 시도마다 TransactionTemplate 으로 트랜잭션 시작
      */
     public CouponIssueResponse issueCouponWithRetry(Long couponId, Long userId) {
+        long startedAt = System.nanoTime();
         int retryCount = 0;
 
-        while (retryCount < MAX_RETRIES) {
-            try {
-                return issueCoupon(couponId, userId);
-            } catch (ObjectOptimisticLockingFailureException e) {
-                retryCount++;
-                if (retryCount >= MAX_RETRIES) {
-                    return CouponIssueResponse.fail("쿠폰 발급에 실패했습니다. 다시 시도해주세요.");
-                }
-
-                // 짧은 대기 후 재시도
+        try {
+            while (true) {
                 try {
-                    Thread.sleep(RETRY_DELAY_MS);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return CouponIssueResponse.fail("쿠폰 발급 중 오류가 발생했습니다.");
+                    return transactionTemplate.execute(status -> issueCoupon(couponId, userId));
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    retryCount++;
+
+                    // 다른 요청이 재고 소진을 확인했으면 바로 실패
+                    if (soldOutCache.isSoldOut(couponId)) {
+                        return CouponIssueResponse.soldOut();
+                    }
+
+                    long backoffMillis = retryPolicy.backoffMillis(retryCount, System.nanoTime() - startedAt);
+                    if (backoffMillis == RetryPolicy.STOP) {
+                        retryExhaustedCounter.increment();
+                        return CouponIssueResponse.fail("쿠폰 발급에 실패했습니다. 다시 시도해주세요.");
+                    }
+
+                    // 백오프 후 재시도
+                    try {
+                        Thread.sleep(backoffMillis);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return CouponIssueResponse.fail("쿠폰 발급 중 오류가 발생했습니다.");
+                    }
                 }
             }
+        } finally {
+            // 요청당 충돌 횟수 (/actuator/metrics/coupon.issue.conflicts)
+            issueMetrics.recordConflicts("optimistic", couponId, retryCount);
         }
-
-        return CouponIssueResponse.fail("쿠폰 발급에 실패했습니다.");
     }
 
     @Transactional(readOnly = true)
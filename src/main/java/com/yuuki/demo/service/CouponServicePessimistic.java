@@ -3,6 +3,7 @@ package com.yuuki.demo.service;
 import com.yuuki.demo.domain.Coupon;
 import com.yuuki.demo.domain.CouponIssue;
 import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
 import com.yuuki.demo.repository.CouponIssueRepository;
 import com.yuuki.demo.repository.CouponRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.function.LongConsumer;
+
 /**
  * 비관적 락(Pessimistic Lock)을 사용한 동시성 제어
  * 
@@ -35,6 +38,7 @@ public class CouponServicePessimistic {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueMetrics issueMetrics;
 
     /**
      * 비관적 락을 사용한 쿠폰 발급
@@ -43,19 +47,34 @@ public class CouponServicePessimistic {
      */
     @Transactional
     public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        return issueCoupon(couponId, userId, "pessimistic", lockWaitNanos -> {
+        });
+    }
+
+    /**
+     * 다른 발급 방식이 비관적 락 발급을 사용할 때 (hybrid)
+     *
+     * @param strategy         지표 strategy 태그
+     * @param lockWaitListener 행 락을 잡기까지 걸린 시간을 받음
+     */
+    @Transactional
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId, String strategy, LongConsumer lockWaitListener) {
 
         // 1. 비관적 락으로 쿠폰 조회
+        long lockRequestedAt = System.nanoTime();
         Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+        lockWaitListener.accept(System.nanoTime() - lockRequestedAt);
+        issueMetrics.recordRowLockAcquired(strategy, couponId, lockRequestedAt);
 
         // 2. 이미 발급받은 사용자인지 확인
         if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
-            return CouponIssueResponse.fail("이미 발급받은 쿠폰입니다.");
+            return CouponIssueResponse.duplicate();
         }
 
         // 3. 쿠폰 발급 가능 여부 확인 및 발급
         if (!coupon.canIssue()) {
-            return CouponIssueResponse.fail("쿠폰이 모두 발급되었습니다.");
+            return CouponIssueResponse.unavailable(coupon);
         }
 
         coupon.issue();
@@ -65,7 +84,7 @@ public class CouponServicePessimistic {
                 .couponId(couponId)
                 .userId(userId)
                 .build();
-        couponIssueRepository.save(couponIssue);
+        issueMetrics.recordInsert(strategy, couponId, () -> couponIssueRepository.saveAndFlush(couponIssue));
 
         return CouponIssueResponse.success(couponIssue.getId(), coupon.getRemainingQuantity());
     }
@@ -0,0 +1,202 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Redis(Lua 스크립트)를 사용한 동시성 제어
+ *
+ * 특징:
+ * - 재고 확인, 중복 확인, 재고 차감을 Lua 스크립트 하나로 원자적으로 처리
+ * - 발급 여부 판단은 Redis가 담당하고, DB에는 발급된 요청만 반영
+ * - 최초 요청 시 DB의 쿠폰 정보로 Redis 재고를 적재
+ *
+ * 장점:
+ * - 단일 스레드로 동작하는 Redis 덕분에 락 없이 정합성 보장
+ * - 재고 소진/중복 요청은 DB에 접근하지 않음
+ * - 분산 환경에서도 동작
+ *
+ * 단점:
+ * - Redis와 DB 간 정합성을 직접 맞춰야 함 (DB 저장 실패 시 Redis 상태 되돌리기)
+ * - 같은 쿠폰을 다른 전략으로 동시에 발급하면 Redis 재고와 어긋날 수 있음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponServiceRedis {
+
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/coupon-issue.lua"), Long.class);
+    private static final RedisScript<Long> CANCEL_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/coupon-issue-cancel.lua"), Long.class);
+    private static final RedisScript<Long> INIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/coupon-stock-init.lua"), Long.class);
+    private static final RedisScript<Long> INCREASE_TOTAL_SCRIPT = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCRBY', KEYS[1], ARGV[1]) end return 0",
+            Long.class);
+
+    private static final long DUPLICATED = -1;
+    private static final long SOLD_OUT = -2;
+    private static final long NOT_LOADED = -3;
+
+    private final StringRedisTemplate redisTemplate;
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponIssueWriteBehind couponIssueWriteBehind;
+    private final CouponIssueMetrics issueMetrics;
+
+    /**
+     * Redis Lua 스크립트로 발급 여부를 결정한 뒤 DB에 반영
+     */
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+
+        // 1. Redis에서 재고 확인 + 중복 확인 + 차감
+        long remaining = admit(couponId, userId);
+        if (remaining == DUPLICATED) {
+            return CouponIssueResponse.duplicate();
+        }
+        if (remaining == SOLD_OUT) {
+            return CouponIssueResponse.soldOut();
+        }
+
+        // 2. 발급 수량 증가 및 발급 이력 저장
+        try {
+            CouponIssue couponIssue = transactionTemplate.execute(status -> {
+                couponRepository.increaseIssuedQuantity(couponId, 1, LocalDateTime.now());
+                return issueMetrics.recordInsert("redis", couponId,
+                        () -> couponIssueRepository.saveAndFlush(CouponIssue.builder()
+                                .couponId(couponId)
+                                .userId(userId)
+                                .build()));
+            });
+            return CouponIssueResponse.success(couponIssue.getId(), (int) remaining);
+        } catch (RuntimeException e) {
+            // DB 반영에 실패하면 Redis 발급도 취소
+            cancel(couponId, userId);
+            throw e;
+        }
+    }
+
+    /**
+     * Redis Lua 스크립트로 발급 여부를 결정하고, DB 반영은 write-behind 대기열에 맡김
+     * 발급 이력이 아직 저장되지 않았으므로 couponIssueId 없이 응답
+     */
+    public CouponIssueResponse issueCouponAsync(Long couponId, Long userId) {
+
+        // 1. Redis에서 재고 확인 + 중복 확인 + 차감
+        long remaining = admit(couponId, userId);
+        if (remaining == DUPLICATED) {
+            return CouponIssueResponse.duplicate();
+        }
+        if (remaining == SOLD_OUT) {
+            return CouponIssueResponse.soldOut();
+        }
+
+        // 2. 발급 이력을 저장 대기열에 추가 (가득 차면 발급 취소)
+        CouponIssue couponIssue = CouponIssue.builder()
+                .couponId(couponId)
+                .userId(userId)
+                .build();
+        if (!couponIssueWriteBehind.enqueue(couponIssue)) {
+            cancel(couponId, userId);
+            return CouponIssueResponse.fail("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        return CouponIssueResponse.success(null, (int) remaining);
+    }
+
+    /**
+     * Redis 재고 확인 및 차감
+     *
+     * @return 발급 후 남은 수량, 실패 시 음수 코드
+     */
+    long admit(Long couponId, Long userId) {
+        Long result = redisTemplate.execute(ISSUE_SCRIPT, keys(couponId), userId.toString());
+        if (result != null && result == NOT_LOADED) {
+            load(couponId);
+            result = redisTemplate.execute(ISSUE_SCRIPT, keys(couponId), userId.toString());
+        }
+        if (result == null || result == NOT_LOADED) {
+            throw new IllegalStateException("Redis 재고 적재에 실패했습니다.");
+        }
+        return result;
+    }
+
+    /**
+     * Redis 발급 취소
+     */
+    void cancel(Long couponId, Long userId) {
+        redisTemplate.execute(CANCEL_SCRIPT, keys(couponId), userId.toString());
+    }
+
+    /**
+     * Redis 재고 정보 삭제
+     * 다음 요청 시 DB 기준으로 다시 적재됨
+     */
+    public void evict(Long couponId) {
+        redisTemplate.delete(keys(couponId));
+    }
+
+    /**
+     * 쿠폰 수량이 늘어나면 적재된 Redis 총 수량도 증가
+     * 재적재(evict)하면 아직 DB에 반영되지 않은 발급(write-behind)을 놓칠 수 있으므로 총 수량만 변경
+     */
+    @TransactionalEventListener
+    public void onQuantityIncreased(CouponQuantityIncreasedEvent event) {
+        try {
+            redisTemplate.execute(INCREASE_TOTAL_SCRIPT, List.of(keys(event.couponId()).get(2)),
+                    String.valueOf(event.amount()));
+        } catch (RuntimeException e) {
+            log.warn("Redis 총 수량 증가 실패, 재적재 필요 - couponId: {}", event.couponId(), e);
+        }
+    }
+
+    /**
+     * DB의 쿠폰 정보로 Redis 재고 적재
+     * 발급 사용자를 먼저 넣고 마지막에 총 수량을 설정해야 적재 도중의 요청이 통과하지 않음
+     */
+    private void load(Long couponId) {
+        Coupon coupon = couponRepository.findById(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+
+        List<String> keys = keys(couponId);
+        String[] userIds = couponIssueRepository.findUserIdsByCouponId(couponId).stream()
+                .map(String::valueOf)
+                .toArray(String[]::new);
+        if (userIds.length > 0) {
+            redisTemplate.opsForSet().add(keys.get(1), userIds);
+        }
+
+        // 재고 분할 쿠폰은 버킷으로 옮긴 수량을 제외 (쿠폰 행의 재고만 발급)
+        int total = coupon.getTotalQuantity() - coupon.getShardedQuantity();
+        redisTemplate.execute(INIT_SCRIPT, keys,
+                coupon.getIssuedQuantity().toString(), String.valueOf(total));
+        log.info("Redis 재고 적재 - couponId: {}, issued: {}, total: {}",
+                couponId, coupon.getIssuedQuantity(), total);
+    }
+
+    /**
+     * 같은 쿠폰의 키는 같은 슬롯에 배치되도록 해시 태그 사용 (Redis Cluster 대비)
+     */
+    private List<String> keys(Long couponId) {
+        String prefix = "coupon:{" + couponId + "}:";
+        return List.of(prefix + "issued", prefix + "users", prefix + "total");
+    }
+}
@@ -0,0 +1,203 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.domain.CouponStockBucket;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.repository.CouponStockBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재고 분할(sharded stock)을 사용한 동시성 제어
+ *
+ * 특징:
+ * - 쿠폰의 남은 재고를 N개의 버킷 행(coupon_stock_bucket)으로 옮김
+ *   쿠폰 행의 총 수량은 그대로 두고 옮긴 수량(shardedQuantity)만 기록하여 쿠폰 행에서는 더 발급하지 않음
+ *   다른 전략으로 요청하면 소진이 아닌 재고 분할 응답 (소진 캐시 / 조회 캐시 / SSE 에 0 을 반영하지 않음)
+ * - userId 해시로 버킷을 고르고, 해당 버킷이 소진되면 다음 버킷으로 넘어감
+ * - 버킷 하나당 짧은 트랜잭션 하나 (발급 이력 INSERT + 버킷 조건부 UPDATE)
+ *   한 트랜잭션이 여러 버킷 행 락을 잡지 않으므로 버킷 사이 교착 상태 없음, 락 대기 초과 시 다음 버킷으로 넘어감
+ * - 중복은 유니크 인덱스로 확인 (insert-first)
+ * - 총 수량 = 쿠폰 행, 발급 수량 = 쿠폰 행 + 버킷 합계
+ *
+ * 장점:
+ * - 하나의 쿠폰 행에 몰리던 락 경합이 약 1/N 로 줄어듦
+ *
+ * 단점:
+ * - 분할한 재고는 이 전략으로만 발급, 분할 후에는 수량을 늘릴 수 없음
+ * - 남은 재고를 보려면 버킷을 합산해야 함
+ * - 재고가 거의 소진되면 여러 버킷을 순회하며 버킷마다 INSERT 후 롤백
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponServiceSharded {
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final CouponStockBucketRepository couponStockBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponIssueMetrics issueMetrics;
+
+    /**
+     * 쿠폰별 분할 정보 (분할 후 변경되지 않음)
+     */
+    private final Map<Long, Sharding> shardings = new ConcurrentHashMap<>();
+
+    /**
+     * 소진된 것으로 확인된 버킷 ID
+     * 소진된 버킷에 UPDATE를 다시 보내 행 락을 잡지 않도록 건너뜀
+     */
+    private final Set<Long> exhaustedBuckets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 쿠폰의 남은 재고를 bucketCount 개의 버킷으로 옮김
+     */
+    @Transactional
+    public void createBuckets(Long couponId, int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("버킷 수는 1 이상이어야 합니다.");
+        }
+
+        Coupon coupon = couponRepository.findByIdWithPessimisticLock(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+        if (couponStockBucketRepository.existsByCouponId(couponId)) {
+            throw new IllegalStateException("이미 재고가 분할된 쿠폰입니다.");
+        }
+
+        int remaining = coupon.shard();
+        List<CouponStockBucket> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(CouponStockBucket.builder()
+                    .couponId(couponId)
+                    .bucketIndex(i)
+                    .totalQuantity(remaining / bucketCount + (i < remaining % bucketCount ? 1 : 0))
+                    .build());
+        }
+        couponStockBucketRepository.saveAll(buckets);
+        log.info("쿠폰 재고 분할 - couponId: {}, remaining: {}, buckets: {}", couponId, remaining, bucketCount);
+    }
+
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        Sharding sharding = getSharding(couponId);
+        List<Long> ids = sharding.bucketIds();
+
+        // userId 해시로 고른 버킷부터 차례로 시도
+        int start = Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), ids.size());
+        boolean lockFailed = false;
+        for (int i = 0; i < ids.size(); i++) {
+            Long bucketId = ids.get((start + i) % ids.size());
+            if (exhaustedBuckets.contains(bucketId)) {
+                continue;
+            }
+            try {
+                CouponIssueResponse response = issueFromBucket(couponId, userId, bucketId, sharding);
+                if (response != null) {
+                    return response;
+                }
+                exhaustedBuckets.add(bucketId);
+            } catch (DataIntegrityViolationException e) {
+                return CouponIssueResponse.duplicate();
+            } catch (PessimisticLockingFailureException e) {
+                // 락 대기 시간 초과 / 교착 상태: 이 트랜잭션은 롤백되었으므로 다음 버킷으로
+                log.debug("버킷 락 획득 실패, 다음 버킷으로 - couponId: {}, bucketId: {}", couponId, bucketId, e);
+                lockFailed = true;
+            }
+        }
+
+        // 모든 버킷 소진 (락을 얻지 못한 버킷이 있으면 소진으로 단정하지 않음)
+        return lockFailed
+                ? CouponIssueResponse.fail("쿠폰 발급에 실패했습니다. 다시 시도해주세요.")
+                : CouponIssueResponse.soldOut();
+    }
+
+    /**
+     * 버킷 하나에서 발급 (짧은 트랜잭션 하나)
+     *
+     * @return 버킷이 소진되었으면 null (발급 이력 INSERT 는 롤백)
+     */
+    private CouponIssueResponse issueFromBucket(Long couponId, Long userId, Long bucketId, Sharding sharding) {
+        return transactionTemplate.execute(status -> {
+
+            // 1. 쿠폰 발급 이력 저장 (중복이면 유니크 인덱스 위반)
+            CouponIssue couponIssue = issueMetrics.recordInsert("sharded", couponId,
+                    () -> couponIssueRepository.saveAndFlush(CouponIssue.builder()
+                            .couponId(couponId)
+                            .userId(userId)
+                            .build()));
+
+            // 2. 버킷 재고 차감
+            long lockRequestedAt = System.nanoTime();
+            if (couponStockBucketRepository.increaseIssuedQuantityIfAvailable(bucketId) == 0) {
+                status.setRollbackOnly();
+                return null;
+            }
+            issueMetrics.recordRowLockAcquired("sharded", couponId, lockRequestedAt);
+            long bucketIssued = couponStockBucketRepository.sumIssuedQuantityByCouponId(couponId);
+            return CouponIssueResponse.success(couponIssue.getId(), sharding.bucketTotal() - (int) bucketIssued);
+        });
+    }
+
+    /**
+     * 재고가 분할된 쿠폰인지 확인 (분할은 되돌리지 않으므로 확인된 쿠폰은 다시 조회하지 않음)
+     */
+    public boolean isSharded(Long couponId) {
+        if (shardings.containsKey(couponId)) {
+            return true;
+        }
+        if (!couponStockBucketRepository.existsByCouponId(couponId)) {
+            return false;
+        }
+        getSharding(couponId);
+        return true;
+    }
+
+    /**
+     * 다른 전략의 소진 응답이 재고 분할 때문이면 재고 분할 응답으로 바꿈
+     * (Redis / 인메모리처럼 쿠폰 행을 보지 않는 전략은 분할 쿠폰을 소진으로 응답)
+     */
+    public CouponIssueResponse rejectIfSharded(Long couponId, CouponIssueResponse response) {
+        if (response.isSuccess() || !response.isSoldOut() || !isSharded(couponId)) {
+            return response;
+        }
+        return CouponIssueResponse.sharded();
+    }
+
+    private Sharding getSharding(Long couponId) {
+        Sharding sharding = shardings.get(couponId);
+        if (sharding != null) {
+            return sharding;
+        }
+
+        List<Long> ids = couponStockBucketRepository.findIdsByCouponId(couponId);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("재고가 분할되지 않은 쿠폰입니다.");
+        }
+        sharding = new Sharding(List.copyOf(ids),
+                (int) couponStockBucketRepository.sumTotalQuantityByCouponId(couponId));
+        shardings.put(couponId, sharding);
+        return sharding;
+    }
+
+    /**
+     * @param bucketIds   버킷 ID 목록 (bucketIndex 순)
+     * @param bucketTotal 버킷 재고 합계 (분할 당시 남은 재고)
+     */
+    private record Sharding(List<Long> bucketIds, int bucketTotal) {
+    }
+}
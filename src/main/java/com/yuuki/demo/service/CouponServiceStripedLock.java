@@ -0,0 +1,105 @@
+package com.yuuki.demo.service;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 쿠폰별 분할 락(striped lock)을 사용한 동시성 제어
+ *
+ * 특징:
+ * - 쿠폰 ID 해시로 고른 ReentrantLock 으로 같은 쿠폰의 요청만 직렬화
+ * - 락 개수가 고정(coupon.striped-lock.stripes)되어 있어 쿠폰 수가 늘어도 메모리 사용량 일정
+ * - TransactionTemplate 으로 트랜잭션을 시작하고, 커밋이 끝난 뒤 락 해제
+ *
+ * 장점:
+ * - synchronized 메서드와 달리 서로 다른 쿠폰은 병렬로 발급
+ * - 커밋 후 락을 해제하므로 단일 서버에서는 정합성 보장
+ *
+ * 단점:
+ * - JVM 레벨의 락이므로 단일 인스턴스에서만 작동
+ * - 같은 락을 공유하는 다른 쿠폰끼리는 서로 기다릴 수 있음
+ */
+@Slf4j
+@Service
+public class CouponServiceStripedLock {
+
+    private final CouponRepository couponRepository;
+    private final CouponIssueRepository couponIssueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponIssueMetrics issueMetrics;
+    private final ReentrantLock[] locks;
+
+    public CouponServiceStripedLock(CouponRepository couponRepository,
+                                    CouponIssueRepository couponIssueRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    CouponIssueMetrics issueMetrics,
+                                    @Value("${coupon.striped-lock.stripes:64}") int stripes) {
+        this.couponRepository = couponRepository;
+        this.couponIssueRepository = couponIssueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.issueMetrics = issueMetrics;
+
+        // 인덱스 계산을 비트 연산으로 하기 위해 2의 거듭제곱으로 맞춤
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        ReentrantLock lock = lockFor(couponId);
+        long lockRequestedAt = System.nanoTime();
+        lock.lock();
+        long lockAcquiredAt = System.nanoTime();
+        issueMetrics.recordLockWait("striped-lock", couponId, lockAcquiredAt - lockRequestedAt);
+        try {
+            // execute 가 반환되면 커밋까지 끝난 상태
+            return transactionTemplate.execute(status -> {
+
+                // 1. 쿠폰 조회
+                Coupon coupon = couponRepository.findById(couponId)
+                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 쿠폰입니다."));
+
+                // 2. 이미 발급받은 사용자인지 확인
+                if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
+                    return CouponIssueResponse.duplicate();
+                }
+
+                // 3. 쿠폰 발급 가능 여부 확인 및 발급
+                if (!coupon.canIssue()) {
+                    return CouponIssueResponse.unavailable(coupon);
+                }
+
+                coupon.issue();
+
+                // 4. 쿠폰 발급 이력 저장
+                CouponIssue couponIssue = CouponIssue.builder()
+                        .couponId(couponId)
+                        .userId(userId)
+                        .build();
+                issueMetrics.recordInsert("striped-lock", couponId, () -> couponIssueRepository.saveAndFlush(couponIssue));
+
+                return CouponIssueResponse.success(couponIssue.getId(), coupon.getRemainingQuantity());
+            });
+        } finally {
+            lock.unlock();
+            issueMetrics.recordLockHold("striped-lock", couponId, System.nanoTime() - lockAcquiredAt);
+        }
+    }
+
+    private ReentrantLock lockFor(Long couponId) {
+        long hash = couponId * 0x9E3779B97F4A7C15L;
+        return locks[(int) (hash ^ (hash >>> 32)) & (locks.length - 1)];
+    }
+}
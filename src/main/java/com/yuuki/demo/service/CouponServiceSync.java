@@ -3,6 +3,7 @@ package com.yuuki.demo.service;
 import com.yuuki.demo.domain.Coupon;
 import com.yuuki.demo.domain.CouponIssue;
 import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
 import com.yuuki.demo.repository.CouponIssueRepository;
 import com.yuuki.demo.repository.CouponRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Synchronized를 사용한 동시성 제어
  * 
@@ -19,6 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
  * - 트랜잭션이 메서드 종료 후 커밋되므로, synchronized 블록을 벗어난 후 실제 DB 반영까지 시간차 발생
  * 
  * 이 버전은 동시성 제어 실패 케이스를 확인하기 위한 용도
+ *
+ * synchronized 대신 ReentrantLock 사용:
+ * - synchronized 블록 안에서 DB I/O로 대기하면 가상 스레드가 캐리어 스레드에 고정(pinning)됨 (Java 21)
+ * - ReentrantLock 은 대기 중 가상 스레드를 캐리어에서 내려놓으므로 가상 스레드 프로필에서도 안전
+ * - 락 범위와 동작은 synchronized 와 동일
  */
 @Slf4j
 @Service
@@ -27,16 +35,32 @@ public class CouponServiceSync {
 
     private final CouponRepository couponRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueMetrics issueMetrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
-     * synchronized 키워드를 사용한 동시성 제어 (실패 케이스)
+     * 인스턴스 단위 락을 사용한 동시성 제어 (실패 케이스)
      * 
      * 문제점:
      * 1. JVM 레벨의 락이므로 단일 인스턴스에서만 작동
      * 2. @Transactional과 함께 사용 시, 트랜잭션 커밋 전에 락이 해제됨
      */
     //@Transactional
-    public synchronized CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+    public CouponIssueResponse issueCoupon(Long couponId, Long userId) {
+        long lockRequestedAt = System.nanoTime();
+        lock.lock();
+        long lockAcquiredAt = System.nanoTime();
+        issueMetrics.recordLockWait("sync", couponId, lockAcquiredAt - lockRequestedAt);
+        try {
+            return issue(couponId, userId);
+        } finally {
+            lock.unlock();
+            issueMetrics.recordLockHold("sync", couponId, System.nanoTime() - lockAcquiredAt);
+        }
+    }
+
+    private CouponIssueResponse issue(Long couponId, Long userId) {
 
         // 1. 쿠폰 조회
         Coupon coupon = couponRepository.findById(couponId)
@@ -44,12 +68,12 @@ public class CouponServiceSync {
 
         // 2. 이미 발급받은 사용자인지 확인
         if (couponIssueRepository.existsByCouponIdAndUserId(couponId, userId)) {
-            return CouponIssueResponse.fail("이미 발급받은 쿠폰입니다.");
+            return CouponIssueResponse.duplicate();
         }
 
         // 3. 쿠폰 발급 가능 여부 확인 및 발급
         if (!coupon.canIssue()) {
-            return CouponIssueResponse.fail("쿠폰이 모두 발급되었습니다.");
+            return CouponIssueResponse.unavailable(coupon);
         }
 
         coupon.issue();
@@ -60,7 +84,7 @@ public class CouponServiceSync {
                 .couponId(couponId)
                 .userId(userId)
                 .build();
-        couponIssueRepository.save(couponIssue);
+        issueMetrics.recordInsert("sync", couponId, () -> couponIssueRepository.save(couponIssue));
 
         return CouponIssueResponse.success(couponIssue.getId(), coupon.getRemainingQuantity());
     }
@@ -0,0 +1,291 @@
+package com.yuuki.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yuuki.demo.cache.SoldOutCache;
+import com.yuuki.demo.config.WaitingRoomProperties;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.dto.WaitingRoomResponse;
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
+import com.yuuki.demo.metrics.CouponIssueMetrics;
+import com.yuuki.demo.stream.CouponStockStream;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * Redis 대기열(waiting room)을 거친 선착순 발급
+ *
+ * 특징:
+ * - 요청은 바로 발급하지 않고 Redis Sorted Set 에 도착 순번(INCR)을 점수로 등록
+ * - 스케줄러가 주기(tick)마다 앞에서부터 admitPerTick 명씩 꺼내(ZPOPMIN) 설정된 발급 전략으로 발급
+ * - 발급 결과는 Redis Hash 에 저장하고, 클라이언트는 순서 조회 API 를 폴링하여 대기 순서 / 결과 확인
+ * - 재고가 소진되면 대기열을 비우고 소진 표시 (남은 대기자는 발급 전략을 거치지 않고 소진 응답)
+ * - 대기열을 끄면(coupon.waiting-room.enabled=false) 발급할 스케줄러가 없으므로 입장을 받지 않음
+ *
+ * 장점:
+ * - 순간 트래픽이 몰려도 DB 에 도달하는 요청 수가 admitPerTick / tick 으로 일정
+ * - 도착 순서대로 발급 (같은 사용자가 다시 입장해도 처음 순서 유지)
+ *
+ * 단점:
+ * - 발급 결과를 바로 받지 못하고 폴링해야 함
+ * - 처리량이 admitPerTick / tick 으로 제한됨
+ * - 대기열에서 꺼낸 뒤 발급 전에 서버가 종료되면 꺼낸 사용자는 결과 없이 사라짐 (다시 입장해야 함)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponWaitingRoomService {
+
+    private static final RedisScript<Long> ENTER_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/waiting-room-enter.lua"), Long.class);
+    private static final String ACTIVE_KEY = "coupon:waiting-room:active";
+    private static final String STRATEGY_NAME = "waiting-room";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SoldOutCache soldOutCache;
+    private final CouponQueryService couponQueryService;
+    private final CouponStockStream couponStockStream;
+    private final CouponIssueMetrics issueMetrics;
+    private final CouponServicePessimistic couponServicePessimistic;
+    private final CouponServiceConditional couponServiceConditional;
+    private final CouponServiceCoalesced couponServiceCoalesced;
+    private final WaitingRoomProperties properties;
+
+    // 여러 스레드가 동시에 대기열을 꺼내면 도착 순서가 뒤섞이므로 한 번에 하나만 처리
+    private final ReentrantLock admitLock = new ReentrantLock();
+
+    private BiFunction<Long, Long, CouponIssueResponse> issuer;
+
+    /**
+     * 발급 전략은 시작 시 한 번 확인 (잘못된 전략이면 대기열에서 사용자를 꺼낸 뒤가 아니라 시작할 때 실패)
+     */
+    @PostConstruct
+    void init() {
+        issuer = issuer(properties.getStrategy());
+    }
+
+    /**
+     * 대기열 입장
+     */
+    public WaitingRoomResponse enter(Long couponId, Long userId) {
+
+        // 0. 대기열을 사용하지 않으면 입장 거절 (입장해도 꺼내서 발급할 스케줄러가 없음)
+        if (!properties.isEnabled()) {
+            return WaitingRoomResponse.closed();
+        }
+
+        // 1. 이미 발급 처리된 사용자는 결과 반환
+        CouponIssueResponse result = result(couponId, userId);
+        if (result != null) {
+            return WaitingRoomResponse.done(result);
+        }
+
+        // 2. 재고 소진이 확인된 쿠폰은 입장시키지 않음
+        if (isSoldOut(couponId)) {
+            return WaitingRoomResponse.soldOut();
+        }
+
+        // 3. 도착 순번으로 대기열 등록 (이미 입장한 사용자는 순서 유지)
+        Long position = redisTemplate.execute(ENTER_SCRIPT, List.of(waitingKey(couponId), sequenceKey(couponId)),
+                String.valueOf(userId));
+        redisTemplate.opsForSet().add(ACTIVE_KEY, String.valueOf(couponId));
+        return WaitingRoomResponse.waiting(position);
+    }
+
+    /**
+     * 대기 순서 또는 발급 결과 조회
+     */
+    public WaitingRoomResponse position(Long couponId, Long userId) {
+        CouponIssueResponse result = result(couponId, userId);
+        if (result != null) {
+            return WaitingRoomResponse.done(result);
+        }
+        Long position = redisTemplate.opsForZSet().rank(waitingKey(couponId), String.valueOf(userId));
+        if (position != null) {
+            return WaitingRoomResponse.waiting(position);
+        }
+        return isSoldOut(couponId) ? WaitingRoomResponse.soldOut() : WaitingRoomResponse.notFound();
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.waiting-room.tick:100ms}")
+    public void scheduledAdmit() {
+        if (properties.isEnabled() && properties.isSchedulerEnabled()) {
+            admit();
+        }
+    }
+
+    /**
+     * 대기 중인 쿠폰마다 앞에서부터 admitPerTick 명씩 꺼내 발급
+     */
+    public void admit() {
+        if (!admitLock.tryLock()) {
+            return;
+        }
+        try {
+            Set<String> couponIds = redisTemplate.opsForSet().members(ACTIVE_KEY);
+            if (couponIds == null) {
+                return;
+            }
+            for (String couponId : couponIds) {
+                try {
+                    admit(Long.valueOf(couponId));
+                } catch (RuntimeException e) {
+                    log.warn("대기열 발급 실패 - couponId: {}", couponId, e);
+                }
+            }
+        } finally {
+            admitLock.unlock();
+        }
+    }
+
+    private void admit(Long couponId) {
+
+        // 1. 대기열 앞에서부터 꺼냄
+        Set<ZSetOperations.TypedTuple<String>> admitted =
+                redisTemplate.opsForZSet().popMin(waitingKey(couponId), properties.getAdmitPerTick());
+        if (admitted == null || admitted.isEmpty()) {
+            deactivate(couponId);
+            return;
+        }
+
+        // 2. 도착 순서대로 발급 (재고 소진 이후의 사용자는 발급 전략을 호출하지 않음)
+        long soldOutEpoch = soldOutCache.epoch(couponId);
+        long stockVersion = couponStockStream.version(couponId);
+        Map<String, String> results = new HashMap<>();
+        boolean soldOut = false;
+        Integer remainingQuantity = null;
+        for (ZSetOperations.TypedTuple<String> waiting : admitted) {
+            CouponIssueResponse response = soldOut
+                    ? CouponIssueResponse.soldOut()
+                    : issue(couponId, Long.valueOf(waiting.getValue()));
+            soldOut = response.isSoldOut();
+            if (response.getRemainingQuantity() != null) {
+                remainingQuantity = response.getRemainingQuantity();
+            }
+            results.put(waiting.getValue(), toJson(response));
+        }
+
+        // 3. 발급 결과 저장
+        redisTemplate.opsForHash().putAll(resultKey(couponId), results);
+        redisTemplate.expire(resultKey(couponId), properties.getResultTtl());
+
+        // 4. 재고가 소진되면 남은 대기자를 정리하고 소진 표시
+        if (soldOut) {
+            redisTemplate.opsForValue().set(soldOutKey(couponId), "1", properties.getResultTtl());
+            redisTemplate.delete(List.of(waitingKey(couponId), sequenceKey(couponId)));
+            redisTemplate.opsForSet().remove(ACTIVE_KEY, String.valueOf(couponId));
+            soldOutCache.markSoldOut(couponId, soldOutEpoch);
+        }
+        if (remainingQuantity != null) {
+            couponQueryService.refresh(couponId, remainingQuantity);
+            couponStockStream.publish(couponId, remainingQuantity, stockVersion);
+        }
+    }
+
+    private CouponIssueResponse issue(Long couponId, Long userId) {
+        long start = System.nanoTime();
+        CouponIssueResponse response;
+        try {
+            response = issuer.apply(couponId, userId);
+        } catch (RuntimeException e) {
+            log.warn("대기열 발급 실패 - couponId: {}, userId: {}", couponId, userId, e);
+            response = CouponIssueResponse.fail(e.getMessage());
+        }
+        issueMetrics.recordIssue(STRATEGY_NAME, couponId, response, System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * 대기열이 비었으면 스케줄러 대상에서 제외
+     * 제외하는 사이에 입장한 사용자가 있으면 다시 등록
+     */
+    private void deactivate(Long couponId) {
+        redisTemplate.opsForSet().remove(ACTIVE_KEY, String.valueOf(couponId));
+        Long waiting = redisTemplate.opsForZSet().zCard(waitingKey(couponId));
+        if (waiting != null && waiting > 0) {
+            redisTemplate.opsForSet().add(ACTIVE_KEY, String.valueOf(couponId));
+        }
+    }
+
+    private BiFunction<Long, Long, CouponIssueResponse> issuer(String strategy) {
+        return switch (strategy) {
+            case "pessimistic" -> couponServicePessimistic::issueCoupon;
+            case "conditional" -> couponServiceConditional::issueCoupon;
+            case "insert-first" -> couponServiceConditional::issueCouponInsertFirst;
+            case "coalesced" -> couponServiceCoalesced::issueCoupon;
+            default -> throw new IllegalStateException("대기열에서 사용할 수 없는 발급 전략입니다: " + strategy);
+        };
+    }
+
+    private boolean isSoldOut(Long couponId) {
+        return soldOutCache.isSoldOut(couponId) || Boolean.TRUE.equals(redisTemplate.hasKey(soldOutKey(couponId)));
+    }
+
+    private CouponIssueResponse result(Long couponId, Long userId) {
+        Object json = redisTemplate.opsForHash().get(resultKey(couponId), String.valueOf(userId));
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json.toString(), CouponIssueResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("대기열 발급 결과를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String toJson(CouponIssueResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("대기열 발급 결과를 저장할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 쿠폰 수량이 늘어나면 소진 표시 해제 (다시 입장 가능)
+     */
+    @TransactionalEventListener
+    public void onQuantityIncreased(CouponQuantityIncreasedEvent event) {
+        redisTemplate.delete(soldOutKey(event.couponId()));
+    }
+
+    /**
+     * 대기열 관련 Redis 키 삭제
+     */
+    public void evict(Long couponId) {
+        redisTemplate.delete(List.of(waitingKey(couponId), sequenceKey(couponId), resultKey(couponId), soldOutKey(couponId)));
+        redisTemplate.opsForSet().remove(ACTIVE_KEY, String.valueOf(couponId));
+    }
+
+    private String waitingKey(Long couponId) {
+        return "coupon:{" + couponId + "}:waiting-room";
+    }
+
+    private String sequenceKey(Long couponId) {
+        return "coupon:{" + couponId + "}:waiting-room:seq";
+    }
+
+    private String resultKey(Long couponId) {
+        return "coupon:{" + couponId + "}:waiting-room:result";
+    }
+
+    private String soldOutKey(Long couponId) {
+        return "coupon:{" + couponId + "}:waiting-room:sold-out";
+    }
+}
@@ -0,0 +1,273 @@
+package com.yuuki.demo.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yuuki.demo.config.StockStreamProperties;
+import com.yuuki.demo.dto.CouponStockResponse;
+import com.yuuki.demo.event.CouponQuantityIncreasedEvent;
+import com.yuuki.demo.service.CouponQueryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 쿠폰 남은 수량 SSE 스트림
+ *
+ * 조회 API 를 폴링하는 대신 발급 결과로 알게 된 남은 수량을 구독자에게 보냄
+ *
+ * - 발급 결과(publish)는 쿠폰별로 가장 적은 남은 수량만 기억하고, interval 마다 변경된 쿠폰만 한 번 전송
+ *   (요청이 아무리 많아도 쿠폰당 전송 횟수는 interval 당 1회)
+ * - 쿠폰 수량이 늘어날 때마다 버전을 올리고, 발급 결과는 재고를 확인하기 전에 읽어 둔 버전과 함께 반영
+ *   이전 버전의 발급 결과(늘어나기 전 수량)는 무시하고, 같은 버전 안에서는 더 적은 남은 수량만 반영
+ * - 이벤트는 쿠폰별로 한 번만 직렬화하고 같은 내용을 모든 구독자에게 전송
+ * - 대기 중인 연결은 서블릿 비동기 처리로 스레드를 점유하지 않고, 전송은 가상 스레드에서 처리
+ *   (느린 클라이언트가 다른 구독자 전송을 막지 않음)
+ * - 구독자마다 가장 최근 이벤트 한 건만 보관하고 전송은 한 번에 하나만 진행
+ *   (전송 중에 새 이벤트가 오면 보내지 않은 이전 이벤트는 버림, 느린 클라이언트가 있어도 쌓이는 작업 / 메모리 없음)
+ * - 변경이 없으면 heartbeat 주기마다 주석을 보내 연결 유지
+ */
+@Slf4j
+@Component
+public class CouponStockStream {
+
+    private static final String EVENT_NAME = "stock";
+
+    private final CouponQueryService couponQueryService;
+    private final ObjectMapper objectMapper;
+    private final StockStreamProperties properties;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CouponStockStream(CouponQueryService couponQueryService,
+                             ObjectMapper objectMapper,
+                             StockStreamProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.couponQueryService = couponQueryService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        Gauge.builder("coupon.stream.subscribers", channels,
+                        map -> map.values().stream().mapToInt(channel -> channel.subscribers.size()).sum())
+                .description("남은 수량 스트림 구독자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 구독 시작, 현재 남은 수량(캐시 조회)을 바로 전송
+     */
+    public SseEmitter subscribe(Long couponId) {
+        int remainingQuantity = couponQueryService.getCoupon(couponId).getRemainingQuantity();
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(couponId, emitter);
+        Channel channel = channels.compute(couponId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel(remainingQuantity);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(couponId, subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(couponId, subscriber));
+
+        subscriber.offer(event(couponId, channel.stock.get().remainingQuantity()));
+        return emitter;
+    }
+
+    /**
+     * 현재 버전 (재고를 확인하기 전에 읽어 두고 publish 에 전달, 구독자가 없으면 -1)
+     */
+    public long version(Long couponId) {
+        Channel channel = channels.get(couponId);
+        return channel != null ? channel.stock.get().version() : -1;
+    }
+
+    /**
+     * 발급 결과로 알게 된 남은 수량 반영 (구독자가 없으면 무시)
+     *
+     * @param version 재고를 확인하기 전에 version() 으로 읽은 버전
+     */
+    public void publish(Long couponId, int remainingQuantity, long version) {
+        Channel channel = channels.get(couponId);
+        if (channel == null) {
+            return;
+        }
+        Stock update = new Stock(version, remainingQuantity, false);
+        if (channel.stock.accumulateAndGet(update, CouponStockStream::merge) == update) {
+            channel.dirty = true;
+        }
+    }
+
+    /**
+     * 쿠폰 수량이 늘어나면 버전을 올리고 DB 기준 남은 수량으로 다시 맞춤
+     */
+    @TransactionalEventListener
+    public void onQuantityIncreased(CouponQuantityIncreasedEvent event) {
+        Channel channel = channels.get(event.couponId());
+        if (channel == null) {
+            return;
+        }
+        // 1. 버전을 먼저 올림 (이후 도착하는 이전 버전의 발급 결과는 무시)
+        long version = channel.stock.updateAndGet(
+                stock -> new Stock(stock.version() + 1, stock.remainingQuantity(), true)).version();
+
+        // 2. 커밋된 남은 수량 반영 (그 사이 새 버전으로 반영된 발급 결과가 더 적으면 유지)
+        int remainingQuantity = couponQueryService.getCouponFromDb(event.couponId()).getRemainingQuantity();
+        channel.stock.accumulateAndGet(new Stock(version, remainingQuantity, false), CouponStockStream::merge);
+        channel.dirty = true;
+    }
+
+    /**
+     * 변경된 쿠폰의 남은 수량 전송
+     */
+    @Scheduled(fixedDelayString = "${coupon.stream.interval:200ms}")
+    public void flush() {
+        long now = System.nanoTime();
+        long heartbeatNanos = properties.getHeartbeat().toNanos();
+
+        channels.forEach((couponId, channel) -> {
+            if (channel.dirty) {
+                channel.dirty = false;
+                broadcast(couponId, channel, event(couponId, channel.stock.get().remainingQuantity()));
+                channel.lastSentAt = now;
+            } else if (now - channel.lastSentAt >= heartbeatNanos) {
+                broadcast(couponId, channel, SseEmitter.event().comment("heartbeat").build());
+                channel.lastSentAt = now;
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdown();
+    }
+
+    private void broadcast(Long couponId, Channel channel, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (Subscriber subscriber : channel.subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * 쿠폰별로 한 번만 직렬화
+     */
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(Long couponId, int remainingQuantity) {
+        try {
+            String json = objectMapper.writeValueAsString(new CouponStockResponse(couponId, remainingQuantity));
+            return SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(json)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("남은 수량 이벤트를 만들 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 이전 버전은 무시, 버전을 올린 직후(stale)에는 새 값으로 교체, 같은 버전 안에서는 더 적은 남은 수량
+     */
+    private static Stock merge(Stock current, Stock update) {
+        if (update.version() < current.version()) {
+            return current;
+        }
+        if (update.version() > current.version() || current.stale()) {
+            return update;
+        }
+        return update.remainingQuantity() < current.remainingQuantity() ? update : current;
+    }
+
+    private void unsubscribe(Long couponId, Subscriber subscriber) {
+        Channel channel = channels.get(couponId);
+        if (channel == null) {
+            return;
+        }
+        channel.subscribers.remove(subscriber);
+        channels.computeIfPresent(couponId, (id, existing) -> existing.subscribers.isEmpty() ? null : existing);
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<Stock> stock;
+        private volatile boolean dirty;
+        private long lastSentAt = System.nanoTime();
+
+        private Channel(int remainingQuantity) {
+            this.stock = new AtomicReference<>(new Stock(0, remainingQuantity, false));
+        }
+    }
+
+    /**
+     * @param stale 버전을 올린 뒤 아직 새 버전의 남은 수량을 반영하지 않은 상태
+     */
+    private record Stock(long version, int remainingQuantity, boolean stale) {
+    }
+
+    /**
+     * 구독자 하나의 전송 상태 (최근 이벤트 한 건 + 전송 중 여부)
+     */
+    private final class Subscriber {
+        private final Long couponId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(Long couponId, SseEmitter emitter) {
+            this.couponId = couponId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * 보내지 않은 이전 이벤트를 새 이벤트로 교체하고, 전송 중이 아니면 전송 시작
+         */
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            pending.set(event);
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = pending.getAndSet(null);
+                if (event == null) {
+                    sending.set(false);
+                    // 전송 중 표시를 내린 사이 들어온 이벤트가 있으면 이어서 전송
+                    if (pending.get() == null || !sending.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // 연결이 끊긴 구독자
+                    log.debug("남은 수량 스트림 전송 실패 - couponId: {}", couponId, e);
+                    unsubscribe(couponId, this);
+                    return;
+                }
+            }
+        }
+    }
+}
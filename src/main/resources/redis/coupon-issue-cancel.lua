@@ -0,0 +1,8 @@
+-- 쿠폰 발급 취소 (DB 저장 실패 시 Redis 상태 되돌리기)
+-- KEYS[1]: 발급 수량 카운터, KEYS[2]: 발급 사용자 Set
+-- ARGV[1]: userId
+if redis.call('SREM', KEYS[2], ARGV[1]) == 1 then
+    redis.call('DECR', KEYS[1])
+    return 1
+end
+return 0
@@ -0,0 +1,20 @@
+-- 쿠폰 발급 (재고 확인 + 중복 확인 + 차감을 하나의 원자 연산으로 처리)
+-- KEYS[1]: 발급 수량 카운터, KEYS[2]: 발급 사용자 Set, KEYS[3]: 총 수량
+-- ARGV[1]: userId
+-- 반환: 0 이상 = 발급 후 남은 수량, -1 = 중복 발급, -2 = 재고 소진, -3 = 재고 미적재
+local total = redis.call('GET', KEYS[3])
+if not total then
+    return -3
+end
+
+if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then
+    return -1
+end
+
+local issued = tonumber(redis.call('GET', KEYS[1]) or '0')
+if issued >= tonumber(total) then
+    return -2
+end
+
+redis.call('SADD', KEYS[2], ARGV[1])
+return tonumber(total) - redis.call('INCR', KEYS[1])
@@ -0,0 +1,10 @@
+-- Redis 재고 적재 (이미 적재되어 있으면 무시)
+-- KEYS[1]: 발급 수량 카운터, KEYS[3]: 총 수량
+-- ARGV[1]: 발급 수량, ARGV[2]: 총 수량
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[1])
+redis.call('SET', KEYS[3], ARGV[2])
+return 1
@@ -0,0 +1,9 @@
+-- 락 해제 (락을 잡은 소유자만 해제 가능) + 대기 중인 요청에 해제 알림
+-- KEYS[1]: 락 키
+-- ARGV[1]: 소유자 토큰, ARGV[2]: 해제 알림 채널
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    redis.call('PUBLISH', ARGV[2], KEYS[1])
+    return 1
+end
+return 0
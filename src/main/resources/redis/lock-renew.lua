@@ -0,0 +1,8 @@
+-- 락 점유 시간 연장 (락을 잡은 소유자만 연장 가능)
+-- KEYS[1]: 락 키
+-- ARGV[1]: 소유자 토큰, ARGV[2]: 점유 시간(ms)
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+return 0
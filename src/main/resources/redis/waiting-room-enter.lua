@@ -0,0 +1,8 @@
+-- 대기열 입장 (이미 입장한 사용자는 순서 유지)
+-- KEYS[1]: 대기열(ZSET), KEYS[2]: 입장 순번 카운터
+-- ARGV[1]: 사용자 ID
+-- 반환: 0부터 시작하는 대기 순서
+if not redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+    redis.call('ZADD', KEYS[1], redis.call('INCR', KEYS[2]), ARGV[1])
+end
+return redis.call('ZRANK', KEYS[1], ARGV[1])
@@ -0,0 +1,71 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.admission.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long TARGET_LATENCY = Duration.ofMillis(100).toNanos();
+
+    @Test
+    @DisplayName("처리 중인 요청이 limit 에 닿으면 거절하고, 끝나면 다시 수락")
+    void 동시_처리_제한() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, TARGET_LATENCY, 0.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+
+        limit.cancel();
+        assertThat(limit.getInFlight()).isEqualTo(1);
+        assertThat(limit.getLimit()).isEqualTo(2);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("목표 이내 응답이 쌓이면 1 / limit 씩 증가 (최대값까지)")
+    void 증가() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 5, TARGET_LATENCY, 0.5);
+
+        // 4 + 1/4 + 1/4.25 + ... 5번이면 5를 넘음
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+            limit.release(TARGET_LATENCY / 2, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+        limit.tryAcquire();
+        limit.release(TARGET_LATENCY / 2, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(TARGET_LATENCY / 2, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("목표 초과 / 오류는 목표 시간에 한 번만 backoffRatio 만큼 감소 (최소값까지)")
+    void 감소() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, TARGET_LATENCY, 0.5);
+
+        // 같은 목표 시간 안의 연속된 실패는 한 번만 반영
+        limit.tryAcquire();
+        limit.release(TARGET_LATENCY * 2, false);
+        limit.tryAcquire();
+        limit.release(0, true);
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        AdaptiveConcurrencyLimit floor = new AdaptiveConcurrencyLimit(5, 4, 100, 0, 0.5);
+        floor.tryAcquire();
+        floor.release(1, false);
+        assertThat(floor.getLimit()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,126 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.BulkIssueProgress;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.service.CouponBulkIssueService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = "coupon.bulk-issue.chunk-size=30")
+class CouponBulkIssueTest {
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponBulkIssueService couponBulkIssueService;
+
+    private Coupon testCoupon;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트용 쿠폰 생성 (100개 한정)
+        testCoupon = Coupon.builder()
+                .name("대량 발급 100개 쿠폰")
+                .totalQuantity(100)
+                .build();
+        couponRepository.save(testCoupon);
+    }
+
+    @AfterEach
+    void after() {
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    //Bulk Issue 사용자 목록을 청크 단위로 나눠 청크마다 락 1회 + 조회 1회 + 배치 INSERT
+    @Test
+    @DisplayName("사용자 130명 목록 대량 발급 (중복, 기존 발급자 포함)")
+    void 대량발급_130명() throws IOException {
+        // 이미 발급받은 사용자 (1명)
+        testCoupon.issue();
+        couponRepository.save(testCoupon);
+        couponIssueRepository.save(CouponIssue.builder()
+                .couponId(testCoupon.getId())
+                .userId(0L)
+                .build());
+
+        // CSV 헤더 + 사용자 0 ~ 119 + 중복 10명 (0 ~ 9)
+        StringBuilder csv = new StringBuilder("userId\n");
+        for (long userId = 0; userId < 120; userId++) {
+            csv.append(userId).append('\n');
+        }
+        for (long userId = 0; userId < 10; userId++) {
+            csv.append(userId).append('\n');
+        }
+
+        ByteArrayOutputStream progress = new ByteArrayOutputStream();
+        BulkIssueProgress result = couponBulkIssueService.bulkIssue(testCoupon.getId(),
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), progress);
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("진행 상황 >>>>\n{}", progress.toString(StandardCharsets.UTF_8));
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.getError()).isNull();
+        assertThat(result.getReceived()).isEqualTo(130);
+        assertThat(result.getIssued()).isEqualTo(99);
+        assertThat(result.getDuplicated() + result.getSoldOut()).isEqualTo(31);
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 줄은 invalid 로 집계하고 나머지 발급")
+    void 잘못된_줄_건너뜀() throws IOException {
+        // 정상 10명 + 잘못된 JSON / userId 없음 / 숫자가 아닌 ID / 범위를 넘는 ID
+        StringBuilder ndjson = new StringBuilder();
+        for (long userId = 0; userId < 10; userId++) {
+            ndjson.append("{\"userId\": ").append(userId).append("}\n");
+            if (userId == 4) {
+                ndjson.append("{\"userId\": \n")
+                        .append("{\"name\": \"a\"}\n")
+                        .append("{\"userId\": \"abc\"}\n")
+                        .append("99999999999999999999\n");
+            }
+        }
+
+        ByteArrayOutputStream progress = new ByteArrayOutputStream();
+        BulkIssueProgress result = couponBulkIssueService.bulkIssue(testCoupon.getId(),
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), progress);
+
+        log.info("진행 상황 >>>>\n{}", progress.toString(StandardCharsets.UTF_8));
+
+        // 검증
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.getError()).isNull();
+        assertThat(result.getReceived()).isEqualTo(10);
+        assertThat(result.getInvalid()).isEqualTo(4);
+        assertThat(result.getIssued()).isEqualTo(10);
+        assertThat(couponIssueRepository.count()).isEqualTo(10);
+    }
+}
@@ -58,6 +58,7 @@ public class CouponConcurrencyNamedLockTest {
         int threadCount = 100;
         ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
         CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        long start = System.currentTimeMillis();
 
         for (int i = 0; i < threadCount; i++) {
             long userId = i;
@@ -73,6 +74,7 @@ public class CouponConcurrencyNamedLockTest {
         // 모든 스레드가 완료될 때까지 대기
         countDownLatch.await();
         executorService.shutdown();
+        log.info("소요 시간 >>>> {}ms", System.currentTimeMillis() - start);
 
         Coupon fresh =
                 couponRepository.findById(testCoupon.getId()).orElseThrow();
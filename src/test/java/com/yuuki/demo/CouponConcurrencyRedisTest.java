@@ -0,0 +1,222 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.dto.WaitingRoomResponse;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.service.CouponIssueWriteBehind;
+import com.yuuki.demo.service.CouponServiceRedis;
+import com.yuuki.demo.service.CouponWaitingRoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "coupon.waiting-room.enabled=true",
+        "coupon.waiting-room.scheduler-enabled=false"
+})
+public class CouponConcurrencyRedisTest {
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponServiceRedis couponServiceRedis;
+
+    @Autowired
+    private CouponIssueWriteBehind couponIssueWriteBehind;
+
+    @Autowired
+    private CouponWaitingRoomService couponWaitingRoomService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private Coupon testCoupon;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트용 쿠폰 생성 (100개 한정)
+        testCoupon = Coupon.builder()
+                .name("선착순 100명 할인쿠폰")
+                .totalQuantity(100)
+                .build();
+        couponRepository.save(testCoupon);
+        log.info("테스트 쿠폰 생성 완료 - id: {}, quantity: {}", testCoupon.getId(), testCoupon.getTotalQuantity());
+    }
+
+    @AfterEach
+    void after() {
+        couponServiceRedis.evict(testCoupon.getId());
+        couponWaitingRoomService.evict(testCoupon.getId());
+        couponIssueRepository.deleteAll();
+        couponRepository.deleteAll();
+        log.info("테스트 데이터 정리 완료");
+    }
+
+    @Test
+    @DisplayName("쿠폰 동시에 Redis 120개 요청")
+    void 쿠폰발급_동시에_120개_Redis() throws InterruptedException {
+        // 재고(100개)보다 많은 요청 + 같은 사용자의 중복 요청을 섞어서 발급
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 110;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceRedis.issueCoupon(testCoupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+
+    }
+
+    @Test
+    @DisplayName("쿠폰 동시에 Redis + write-behind 120개 요청")
+    void 쿠폰발급_동시에_120개_Redis_비동기저장() throws InterruptedException {
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 110;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceRedis.issueCouponAsync(testCoupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // 비동기 저장이 끝날 때까지 대기
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (couponIssueRepository.count() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        log.info("저장 대기 중인 발급 이력 수 >>>> {}", couponIssueWriteBehind.pendingCount());
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+
+    }
+
+    @Test
+    @DisplayName("쿠폰 동시에 대기열 120개 입장")
+    void 쿠폰발급_동시에_120개_대기열() throws InterruptedException {
+        // 120명(중복 10명 포함)이 동시에 입장한 뒤 스케줄러가 도착 순서대로 발급
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 110;
+            executorService.execute(() -> {
+                try {
+                    WaitingRoomResponse response = couponWaitingRoomService.enter(testCoupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // 도착 순서상 앞선 100명 (스케줄러를 끄고 직접 admit 호출)
+        Set<Long> first100 = redisTemplate.opsForZSet()
+                .range("coupon:{" + testCoupon.getId() + "}:waiting-room", 0, 99).stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+
+        // 대기열이 비고 모든 사용자의 결과가 나올 때까지 발급
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!allAdmitted(110) && System.currentTimeMillis() < deadline) {
+            couponWaitingRoomService.admit();
+        }
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        Set<Long> issuedUserIds = couponIssueRepository.findAll().stream()
+                .map(CouponIssue::getUserId)
+                .collect(Collectors.toSet());
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+        assertThat(first100).hasSize(100);
+        assertThat(issuedUserIds).isEqualTo(first100);
+    }
+
+    /**
+     * 대기열이 비었고 userId 0 ~ userCount-1 이 모두 DONE 또는 SOLD_OUT
+     */
+    private boolean allAdmitted(int userCount) {
+        Long waiting = redisTemplate.opsForZSet().zCard("coupon:{" + testCoupon.getId() + "}:waiting-room");
+        if (waiting != null && waiting > 0) {
+            return false;
+        }
+        for (long userId = 0; userId < userCount; userId++) {
+            WaitingRoomResponse.Status status = couponWaitingRoomService.position(testCoupon.getId(), userId).getStatus();
+            if (status != WaitingRoomResponse.Status.DONE && status != WaitingRoomResponse.Status.SOLD_OUT) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
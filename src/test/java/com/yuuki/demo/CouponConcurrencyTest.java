@@ -1,12 +1,26 @@
 package com.yuuki.demo;
 
+import com.yuuki.demo.cache.SoldOutCache;
+import com.yuuki.demo.controller.CouponController;
 import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.dto.CouponIssueRequest;
 import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.dto.CouponResponse;
+import com.yuuki.demo.engine.CouponIssueEngine;
 import com.yuuki.demo.repository.CouponIssueRepository;
 import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.repository.CouponStockBucketRepository;
+import com.yuuki.demo.service.CouponQueryService;
 import com.yuuki.demo.service.CouponServiceSync;
 import com.yuuki.demo.service.CouponServicePessimistic;
 import com.yuuki.demo.service.CouponServiceOptimistic;
+import com.yuuki.demo.service.CouponServiceConditional;
+import com.yuuki.demo.service.CouponServiceSharded;
+import com.yuuki.demo.service.CouponServiceStripedLock;
+import com.yuuki.demo.service.CouponServiceCoalesced;
+import com.yuuki.demo.service.CouponServiceInMemory;
+import com.yuuki.demo.service.CouponServiceHybrid;
+import com.yuuki.demo.contention.CouponContentionTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,6 +57,42 @@ class CouponConcurrencyTest {
     @Autowired
     private CouponServiceOptimistic couponServiceOptimistic;
 
+    @Autowired
+    private CouponServiceConditional couponServiceConditional;
+
+    @Autowired
+    private CouponServiceSharded couponServiceSharded;
+
+    @Autowired
+    private CouponServiceStripedLock couponServiceStripedLock;
+
+    @Autowired
+    private CouponServiceCoalesced couponServiceCoalesced;
+
+    @Autowired
+    private CouponServiceInMemory couponServiceInMemory;
+
+    @Autowired
+    private CouponIssueEngine couponIssueEngine;
+
+    @Autowired
+    private CouponServiceHybrid couponServiceHybrid;
+
+    @Autowired
+    private CouponContentionTracker couponContentionTracker;
+
+    @Autowired
+    private CouponStockBucketRepository couponStockBucketRepository;
+
+    @Autowired
+    private CouponQueryService couponQueryService;
+
+    @Autowired
+    private CouponController couponController;
+
+    @Autowired
+    private SoldOutCache soldOutCache;
+
     private Coupon testCoupon;
 
     @BeforeEach
@@ -58,6 +108,9 @@ class CouponConcurrencyTest {
 
     @AfterEach
     void after() {
+        couponIssueEngine.evict(testCoupon.getId());
+        couponContentionTracker.evict(testCoupon.getId());
+        couponStockBucketRepository.deleteAll();
         couponIssueRepository.deleteAll();
         couponRepository.deleteAll();
         log.info("테스트 데이터 정리 완료");
@@ -105,6 +158,42 @@ class CouponConcurrencyTest {
     }
 
 
+    //Striped Lock 쿠폰별 ReentrantLock 을 커밋 이후까지 잡아서 synchronized 의 커밋 전 락 해제 문제 해결
+    @Test
+    @DisplayName("쿠폰 동시에 100개 분할 락 적용")
+    void 쿠폰발급_동시에_100개_분할락() throws InterruptedException {
+        int threadCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceStripedLock.issueCoupon(testCoupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+
+    }
+
     //Pessimistic Lock 실제로 데이터에 Lock를 걸어서 정합성을 맞추는 역할
     @Test
     @DisplayName("쿠폰 동시에 100개 비관적락 적용")
@@ -178,7 +267,306 @@ class CouponConcurrencyTest {
 
     }
 
-    //NamedLock에 대한 테스트 코드
-}
+    //Hybrid 낙관적락으로 시작해서 충돌률이 높아지면 쿠폰을 비관적락으로 전환
+    //동시에 몰리는 요청에서는 재시도 대신 행 락 대기로 처리
+    @Test
+    @DisplayName("쿠폰 동시에 120개 요청 충돌률 기반 낙관적/비관적 전환 (중복 요청 포함)")
+    void 쿠폰발급_동시에_120개_하이브리드() throws InterruptedException {
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        AtomicInteger duplicateCount = new AtomicInteger();
 
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 110;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceHybrid.issueCoupon(testCoupon.getId(), userId);
+                    if (response.isDuplicate()) {
+                        duplicateCount.incrementAndGet();
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+        log.info("중복 요청 수 >>>> {}, 발급 방식 >>>> {}",
+                duplicateCount.get(), couponContentionTracker.mode(testCoupon.getId()));
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+
+    }
+
+    //Conditional Update 재고 확인과 차감을 UPDATE 한 번으로 처리
+    //읽고 수정하지 않으므로 락 대기 시간과 재시도가 없음
+    @Test
+    @DisplayName("쿠폰 동시에 100개 조건부 UPDATE 적용")
+    void 쿠폰발급_동시에_100개_조건부UPDATE() throws InterruptedException {
+        int threadCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
 
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceConditional.issueCoupon(testCoupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+
+    }
+
+    //Insert-first 중복 확인 쿼리 대신 유니크 인덱스로 중복 발급을 걸러냄
+    @Test
+    @DisplayName("쿠폰 동시에 120개 insert-first 적용 (중복 요청 포함)")
+    void 쿠폰발급_동시에_120개_insertFirst() throws InterruptedException {
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        AtomicInteger duplicateCount = new AtomicInteger();
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 100;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceConditional.issueCouponInsertFirst(testCoupon.getId(), userId);
+                    if ("이미 발급받은 쿠폰입니다.".equals(response.getMessage())) {
+                        duplicateCount.incrementAndGet();
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+        log.info("중복 요청 수 >>>> {}", duplicateCount.get());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+        assertThat(duplicateCount.get()).isEqualTo(20);
+
+    }
+
+    //Sharded Stock 재고를 여러 버킷 행으로 나눠 하나의 행에 몰리는 락 경합을 분산
+    @Test
+    @DisplayName("쿠폰 동시에 120개 재고 분할(4개 버킷) 적용")
+    void 쿠폰발급_동시에_120개_재고분할() throws InterruptedException {
+        couponServiceSharded.createBuckets(testCoupon.getId(), 4);
+
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceSharded.issueCoupon(testCoupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // 분할된 쿠폰은 버킷 발급 수량을 합산해서 확인
+        CouponResponse fresh = couponQueryService.getCouponFromDb(testCoupon.getId());
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+
+    }
+
+    @Test
+    @DisplayName("재고 분할 쿠폰은 다른 전략으로 요청하면 소진이 아닌 재고 분할 응답")
+    void 재고분할_쿠폰_다른전략_거절() {
+        couponServiceSharded.createBuckets(testCoupon.getId(), 4);
+
+        CouponIssueResponse conditional = couponServiceConditional.issueCoupon(testCoupon.getId(), 1L);
+        CouponIssueResponse pessimistic = couponServicePessimistic.issueCoupon(testCoupon.getId(), 2L);
+        CouponIssueResponse sharded = couponServiceSharded.issueCoupon(testCoupon.getId(), 3L);
+
+        assertThat(conditional.isSharded()).isTrue();
+        assertThat(conditional.isSoldOut()).isFalse();
+        assertThat(pessimistic.isSharded()).isTrue();
+        assertThat(pessimistic.isSoldOut()).isFalse();
+        assertThat(sharded.isSuccess()).isTrue();
+        assertThat(couponIssueRepository.count()).isEqualTo(1);
+
+        CouponResponse fresh = couponQueryService.getCouponFromDb(testCoupon.getId());
+        assertThat(fresh.getTotalQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("재고 분할 쿠폰을 다른 전략 API 로 요청해도 소진 표시하지 않고 재고 분할 API 는 계속 발급")
+    void 재고분할_쿠폰_컨트롤러() {
+        couponController.createBuckets(testCoupon.getId(), 4);
+
+        CouponIssueResponse pessimistic = couponController.issueCouponPessimistic(
+                new CouponIssueRequest(testCoupon.getId(), 1L)).getBody();
+        CouponIssueResponse optimistic = couponController.issueCouponOptimistic(
+                new CouponIssueRequest(testCoupon.getId(), 2L)).getBody();
+        CouponIssueResponse sharded = couponController.issueCouponSharded(
+                new CouponIssueRequest(testCoupon.getId(), 3L)).getBody();
+
+        assertThat(pessimistic.isSharded()).isTrue();
+        assertThat(optimistic.isSharded()).isTrue();
+        assertThat(soldOutCache.isSoldOut(testCoupon.getId())).isFalse();
+        assertThat(sharded.isSuccess()).isTrue();
+        assertThat(sharded.getRemainingQuantity()).isEqualTo(99);
+        assertThat(couponIssueRepository.count()).isEqualTo(1);
+    }
+
+    //Coalescing 여러 발급 요청을 모아서 락 1회 + 트랜잭션 1회로 처리
+    @Test
+    @DisplayName("쿠폰 동시에 120개 요청 묶음 처리 적용 (중복 요청 포함)")
+    void 쿠폰발급_동시에_120개_묶음처리() throws InterruptedException {
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        AtomicInteger duplicateCount = new AtomicInteger();
+        AtomicInteger soldOutCount = new AtomicInteger();
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 110;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceCoalesced.issueCoupon(testCoupon.getId(), userId);
+                    if ("이미 발급받은 쿠폰입니다.".equals(response.getMessage())) {
+                        duplicateCount.incrementAndGet();
+                    } else if (response.isSoldOut() && !response.isSuccess()) {
+                        soldOutCount.incrementAndGet();
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+        log.info("중복 요청 수 >>>> {}, 재고 소진 수 >>>> {}", duplicateCount.get(), soldOutCount.get());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+        // 재고를 받지 못한 사용자가 두 번 요청하면 중복이 아닌 소진 두 번이므로 합계만 고정
+        assertThat(duplicateCount.get() + soldOutCount.get()).isEqualTo(20);
+        assertThat(duplicateCount.get()).isLessThanOrEqualTo(10);
+
+    }
+
+    //In-Memory 재고 / 중복 확인은 메모리(구간 락 + CAS)에서, 발급 이력은 write-behind 로 저장
+    @Test
+    @DisplayName("쿠폰 동시에 120개 요청 인메모리 엔진 적용 (중복 요청 포함)")
+    void 쿠폰발급_동시에_120개_인메모리() throws InterruptedException {
+        int threadCount = 120;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        AtomicInteger duplicateCount = new AtomicInteger();
+        AtomicInteger soldOutCount = new AtomicInteger();
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 110;
+            executorService.execute(() -> {
+                try {
+                    CouponIssueResponse response = couponServiceInMemory.issueCoupon(testCoupon.getId(), userId);
+                    if (response.isDuplicate()) {
+                        duplicateCount.incrementAndGet();
+                    } else if (response.isSoldOut() && !response.isSuccess()) {
+                        soldOutCount.incrementAndGet();
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+
+        // 모든 스레드가 완료될 때까지 대기
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // 비동기 저장이 끝날 때까지 대기
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (couponIssueRepository.count() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        Coupon fresh =
+                couponRepository.findById(testCoupon.getId()).orElseThrow();
+        log.info("남은 쿠폰 양 >>>> {}", fresh.getRemainingQuantity());
+        log.info("발급된 쿠폰 양 >>>> {}", fresh.getIssuedQuantity());
+        log.info("DB에 저장된 발급 이력 수 >>>> {}", couponIssueRepository.count());
+        log.info("중복 요청 수 >>>> {}, 재고 소진 수 >>>> {}", duplicateCount.get(), soldOutCount.get());
+
+        // 검증
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(100);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+        assertThat(couponIssueRepository.count()).isEqualTo(100);
+        // 재고를 받지 못한 사용자가 두 번 요청하면 중복이 아닌 소진 두 번이므로 합계만 고정
+        assertThat(duplicateCount.get() + soldOutCount.get()).isEqualTo(20);
+        assertThat(duplicateCount.get()).isLessThanOrEqualTo(10);
+
+    }
+
+    //NamedLock에 대한 테스트 코드
+}
@@ -0,0 +1,116 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.config.HybridProperties;
+import com.yuuki.demo.contention.ContentionMode;
+import com.yuuki.demo.contention.CouponContentionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponContentionTrackerTest {
+
+    private static final Long COUPON_ID = 1L;
+    private static final long CONTENDED_WAIT = Duration.ofMillis(50).toNanos();
+    private static final long FREE_WAIT = Duration.ofMillis(1).toNanos();
+
+    private SimpleMeterRegistry meterRegistry;
+    private CouponContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        // 최소 표본 20개, 충돌률 20% 이상이면 비관적 락, 5% 이하이면 낙관적 락, 유지 시간 없음
+        HybridProperties properties = new HybridProperties();
+        properties.setMinHold(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new CouponContentionTracker(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("표본이 최소 개수에 못 미치면 충돌만 나도 전환하지 않음")
+    void 표본_부족() {
+        for (int i = 0; i < 19; i++) {
+            tracker.recordAttempt(COUPON_ID, true);
+        }
+
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("충돌률이 hot 기준에 닿으면 비관적 락으로 전환")
+    void 비관적락_전환() {
+        for (int i = 0; i < 16; i++) {
+            tracker.recordAttempt(COUPON_ID, false);
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.recordAttempt(COUPON_ID, true);
+        }
+
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.PESSIMISTIC);
+        assertThat(meterRegistry.get("coupon.hybrid.switch").tag("mode", "pessimistic").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("coupon.hybrid.pessimistic").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("두 기준 사이에서는 비관적 락 유지, cool 기준 이하로 내려가면 낙관적 락으로 복귀")
+    void 낙관적락_복귀() {
+        for (int i = 0; i < 20; i++) {
+            tracker.recordAttempt(COUPON_ID, true);
+        }
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.PESSIMISTIC);
+
+        // 충돌률 10% (5% ~ 20% 사이), 경합 없는 조회 시간은 FREE_WAIT
+        for (int i = 0; i < 18; i++) {
+            tracker.recordLockWait(COUPON_ID, FREE_WAIT);
+        }
+        tracker.recordLockWait(COUPON_ID, CONTENDED_WAIT);
+        tracker.recordLockWait(COUPON_ID, CONTENDED_WAIT);
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.PESSIMISTIC);
+
+        // 충돌률 5%
+        for (int i = 0; i < 20; i++) {
+            tracker.recordLockWait(COUPON_ID, FREE_WAIT);
+        }
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.OPTIMISTIC);
+        assertThat(meterRegistry.get("coupon.hybrid.switch").tag("mode", "optimistic").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("coupon.hybrid.pessimistic").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("쿼리 왕복이 느려도 경합 없는 조회 시간만큼은 락 대기로 보지 않음")
+    void 락대기_기준값() {
+        for (int i = 0; i < 20; i++) {
+            tracker.recordAttempt(COUPON_ID, true);
+        }
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.PESSIMISTIC);
+
+        // 조회 시간이 모두 10ms (threshold 2ms 이상) 지만 락을 기다린 시간은 없음
+        long slowRoundTrip = Duration.ofMillis(10).toNanos();
+        for (int i = 0; i < 20; i++) {
+            tracker.recordLockWait(COUPON_ID, slowRoundTrip);
+        }
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("요청이 적어 표본이 모이지 않는 비관적 락 쿠폰은 정리할 때 낙관적 락으로 복귀")
+    void 요청_적은_쿠폰_복귀() {
+        for (int i = 0; i < 20; i++) {
+            tracker.recordAttempt(COUPON_ID, true);
+        }
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.PESSIMISTIC);
+
+        // 전환 후 요청 한 건 (최소 표본 20개 미만)
+        tracker.recordLockWait(COUPON_ID, CONTENDED_WAIT);
+        tracker.evictIdle();
+
+        assertThat(tracker.mode(COUPON_ID)).isEqualTo(ContentionMode.OPTIMISTIC);
+        assertThat(meterRegistry.get("coupon.hybrid.pessimistic").gauge().value()).isEqualTo(0);
+    }
+}
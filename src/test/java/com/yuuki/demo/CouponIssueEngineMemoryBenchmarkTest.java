@@ -0,0 +1,75 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.engine.LongHashSet;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 발급 사용자 100만 명을 담는 집합의 메모리 사용량 비교 (./gradlew benchmark)
+ *
+ * - 변경 전: HashSet<Long> (원소마다 Long 객체 + HashMap.Node)
+ * - 변경 후: LongHashSet (long[] 배열 하나)
+ * 힙 사용량은 GC 직후 used heap 차이로 측정하므로 대략적인 값
+ */
+@Slf4j
+@Tag("benchmark")
+class CouponIssueEngineMemoryBenchmarkTest {
+
+    private static final int USER_COUNT = 1_000_000;
+
+    @Test
+    @DisplayName("변경 전 - HashSet<Long> 100만 명")
+    void HashSet_Long() throws InterruptedException {
+        Set<Long> users = measure("HashSet<Long>", () -> {
+            Set<Long> set = new HashSet<>();
+            for (long userId = 0; userId < USER_COUNT; userId++) {
+                set.add(userId);
+            }
+            return set;
+        });
+        assertThat(users).hasSize(USER_COUNT);
+    }
+
+    @Test
+    @DisplayName("변경 후 - LongHashSet 100만 명")
+    void LongHashSet_long() throws InterruptedException {
+        LongHashSet users = measure("LongHashSet", () -> {
+            LongHashSet set = new LongHashSet();
+            for (long userId = 0; userId < USER_COUNT; userId++) {
+                set.add(userId);
+            }
+            return set;
+        });
+        log.info("LongHashSet 배열 크기 >>>> {} MB", users.tableBytes() / 1024 / 1024);
+        assertThat(users.size()).isEqualTo(USER_COUNT);
+    }
+
+    private <T> T measure(String name, Supplier<T> factory) throws InterruptedException {
+        long before = usedHeap();
+        long start = System.nanoTime();
+        T users = factory.get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long bytes = usedHeap() - before;
+
+        log.info("{} 100만 명 >>>> 힙 {} MB, 사용자당 {} bytes, 추가 시간 {} ms",
+                name, bytes / 1024 / 1024, bytes / USER_COUNT, elapsedMillis);
+        return users;
+    }
+
+    private long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,124 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.domain.CouponIssue;
+import com.yuuki.demo.repository.CouponIssueJdbcRepository;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 발급 이력 10만 건 INSERT 성능 비교 (./gradlew benchmark)
+ *
+ * - 변경 전: IDENTITY 방식처럼 건별 INSERT 후 생성된 키를 받아옴
+ * - 변경 후: TSID + Hibernate 배치 INSERT / JDBC 배치 INSERT
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class CouponIssueInsertBenchmarkTest {
+
+    private static final int ISSUE_COUNT = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final long COUPON_ID = -1L;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponIssueJdbcRepository couponIssueJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void after() {
+        couponIssueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("변경 전 - IDENTITY 건별 INSERT 10만 건")
+    void 건별_INSERT() {
+        long start = System.nanoTime();
+        for (int from = 0; from < ISSUE_COUNT; from += CHUNK_SIZE) {
+            int offset = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = offset; i < offset + CHUNK_SIZE; i++) {
+                    long userId = i;
+                    // IDENTITY 처럼 id 없이 INSERT 하고 DB 가 만든 키를 받아옴
+                    KeyHolder keyHolder = new GeneratedKeyHolder();
+                    jdbcTemplate.update(connection -> {
+                        PreparedStatement ps = connection.prepareStatement(
+                                "INSERT INTO coupon_issue (coupon_id, user_id, issued_at) VALUES (?, ?, ?)",
+                                Statement.RETURN_GENERATED_KEYS);
+                        ps.setLong(1, COUPON_ID);
+                        ps.setLong(2, userId);
+                        ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                        return ps;
+                    }, keyHolder);
+                    assertThat(keyHolder.getKey()).isNotNull();
+                }
+            });
+        }
+        log.info("건별 INSERT {}건 >>>> {}ms", ISSUE_COUNT, (System.nanoTime() - start) / 1_000_000);
+
+        assertThat(couponIssueRepository.count()).isEqualTo(ISSUE_COUNT);
+    }
+
+    @Test
+    @DisplayName("변경 후 - TSID + Hibernate 배치 INSERT 10만 건")
+    void Hibernate_배치_INSERT() {
+        long start = System.nanoTime();
+        for (int from = 0; from < ISSUE_COUNT; from += CHUNK_SIZE) {
+            List<CouponIssue> chunk = issues(from);
+            transactionTemplate.executeWithoutResult(status -> couponIssueRepository.saveAll(chunk));
+        }
+        log.info("Hibernate 배치 INSERT {}건 >>>> {}ms", ISSUE_COUNT, (System.nanoTime() - start) / 1_000_000);
+
+        assertThat(couponIssueRepository.count()).isEqualTo(ISSUE_COUNT);
+    }
+
+    @Test
+    @DisplayName("변경 후 - TSID + JDBC 배치 INSERT 10만 건")
+    void JDBC_배치_INSERT() {
+        long start = System.nanoTime();
+        for (int from = 0; from < ISSUE_COUNT; from += CHUNK_SIZE) {
+            List<CouponIssue> chunk = issues(from);
+            transactionTemplate.executeWithoutResult(status -> couponIssueJdbcRepository.batchInsert(chunk));
+        }
+        log.info("JDBC 배치 INSERT {}건 >>>> {}ms", ISSUE_COUNT, (System.nanoTime() - start) / 1_000_000);
+
+        assertThat(couponIssueRepository.count()).isEqualTo(ISSUE_COUNT);
+    }
+
+    private List<CouponIssue> issues(int from) {
+        List<CouponIssue> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = from; i < from + CHUNK_SIZE; i++) {
+            chunk.add(CouponIssue.builder()
+                    .couponId(COUPON_ID)
+                    .userId((long) i)
+                    .build());
+        }
+        return chunk;
+    }
+}
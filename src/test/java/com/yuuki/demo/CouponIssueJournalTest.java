@@ -0,0 +1,154 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.config.JournalProperties;
+import com.yuuki.demo.journal.CouponIssueJournal;
+import com.yuuki.demo.journal.JournalBatch;
+import com.yuuki.demo.journal.JournalRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponIssueJournalTest {
+
+    // 세그먼트당 기록 100건
+    private static final int RECORDS_PER_SEGMENT = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("동시에 기록한 250건을 다시 열어서 복구 (세그먼트 3개)")
+    void 기록_후_복구() throws Exception {
+        CouponIssueJournal journal = open();
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        List<CompletableFuture<Void>> durables = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            long userId = i;
+            durables.add(CompletableFuture.supplyAsync(() -> journal.append(1L, userId), executorService)
+                    .thenCompose(durable -> durable));
+        }
+        CompletableFuture.allOf(durables.toArray(CompletableFuture[]::new)).join();
+        executorService.shutdown();
+        journal.close();
+
+        CouponIssueJournal reopened = open();
+        List<JournalRecord> records = replay(reopened);
+        reopened.close();
+
+        assertThat(segmentFiles()).hasSize(3);
+        assertThat(records).hasSize(250);
+        assertThat(records).extracting(JournalRecord::sequence).containsExactlyElementsOf(
+                Stream.iterate(0L, sequence -> sequence + 1).limit(250).toList());
+        assertThat(records).extracting(JournalRecord::userId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("쓰다가 종료된 마지막 기록은 무시하고 그 자리부터 이어서 기록")
+    void 손상된_기록_무시() throws Exception {
+        CouponIssueJournal journal = open();
+        for (int i = 0; i < 10; i++) {
+            journal.append(1L, i).join();
+        }
+        journal.close();
+
+        // 마지막 기록의 CRC 손상
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 0), 9 * 32 + 24);
+        }
+
+        CouponIssueJournal reopened = open();
+        assertThat(replay(reopened)).hasSize(9);
+        reopened.append(1L, 100L).join();
+        List<JournalRecord> records = replay(reopened);
+        reopened.close();
+
+        assertThat(records).hasSize(10);
+        assertThat(records.get(9).userId()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("중간에 손상된 기록은 격리하고 건너뛰어 그 뒤의 기록까지 복구")
+    void 중간_손상된_기록_격리() throws Exception {
+        CouponIssueJournal journal = open();
+        for (int i = 0; i < 10; i++) {
+            journal.append(1L, i).join();
+        }
+        journal.close();
+
+        // 가운데 기록의 CRC 손상
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 0), 4 * 32 + 24);
+        }
+
+        CouponIssueJournal reopened = open();
+        List<JournalRecord> records = replay(reopened);
+        JournalBatch batch = reopened.read(0, 100);
+        reopened.append(1L, 100L).join();
+        List<JournalRecord> appended = replay(reopened);
+        reopened.close();
+
+        assertThat(records).hasSize(9);
+        assertThat(records).extracting(JournalRecord::sequence).doesNotContain(4L);
+        assertThat(batch.nextSequence()).isEqualTo(10L);
+        assertThat(appended.get(appended.size() - 1).sequence()).isEqualTo(10L);
+        assertThat(Files.readAllLines(directory.resolve("quarantine"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("체크포인트 이후만 복구하고 반영이 끝난 세그먼트는 삭제")
+    void 체크포인트() throws Exception {
+        CouponIssueJournal journal = open();
+        for (int i = 0; i < 250; i++) {
+            journal.append(2L, i).join();
+        }
+        journal.checkpoint(200);
+        journal.close();
+
+        CouponIssueJournal reopened = open();
+        List<JournalRecord> records = replay(reopened);
+        reopened.close();
+
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(records).hasSize(50);
+        assertThat(records.get(0).sequence()).isEqualTo(200L);
+    }
+
+    private CouponIssueJournal open() throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofBytes(RECORDS_PER_SEGMENT * 32L));
+        CouponIssueJournal journal = new CouponIssueJournal(properties, new SimpleMeterRegistry());
+        journal.open();
+        return journal;
+    }
+
+    private List<JournalRecord> replay(CouponIssueJournal journal) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(records::add);
+        return records;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+}
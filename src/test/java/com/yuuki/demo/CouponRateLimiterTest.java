@@ -0,0 +1,79 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.admission.CouponAdmissionControl;
+import com.yuuki.demo.admission.CouponRateLimiter;
+import com.yuuki.demo.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponRateLimiterTest {
+
+    @Test
+    @DisplayName("burst 만큼 수락한 뒤 거절, 쿠폰마다 따로 계산")
+    void 쿠폰별_burst() {
+        // 초당 1건, 순간 5건
+        CouponRateLimiter rateLimiter = new CouponRateLimiter(1, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire(1L)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+        assertThat(rateLimiter.tryAcquire(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("요청 간격이 지나면 다시 수락")
+    void 간격_후_수락() throws InterruptedException {
+        // 초당 100건(10ms 간격), 순간 1건
+        CouponRateLimiter rateLimiter = new CouponRateLimiter(100, 1);
+
+        assertThat(rateLimiter.tryAcquire(1L)).isTrue();
+        assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+        Thread.sleep(20);
+        assertThat(rateLimiter.tryAcquire(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("동시 처리 수 제한에 거절된 요청은 쿠폰별 토큰을 쓰지 않음")
+    void 동시처리_거절시_토큰_유지() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CouponAdmissionControl admissionControl = new CouponAdmissionControl(properties(1, 1, 2), meterRegistry);
+
+        assertThat(admissionControl.tryAcquire(1L)).isTrue();
+        // 동시 처리 수 제한(1)에 거절
+        assertThat(admissionControl.tryAcquire(1L)).isFalse();
+        admissionControl.release(0, false);
+
+        // 순간 허용 2건 중 남은 1건 사용
+        assertThat(admissionControl.tryAcquire(1L)).isTrue();
+        assertThat(meterRegistry.get("coupon.admission.rejected").tag("reason", "concurrency_limit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("초당 요청 수 제한에 거절된 요청은 동시 처리 자리를 돌려줌")
+    void 초당_거절시_자리_반환() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CouponAdmissionControl admissionControl = new CouponAdmissionControl(properties(10, 1, 1), meterRegistry);
+
+        assertThat(admissionControl.tryAcquire(1L)).isTrue();
+        assertThat(admissionControl.tryAcquire(1L)).isFalse();
+
+        assertThat(meterRegistry.get("coupon.admission.in-flight").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("coupon.admission.rejected").tag("reason", "coupon_rate").counter().count())
+                .isEqualTo(1);
+    }
+
+    private AdmissionProperties properties(int concurrencyLimit, int permitsPerSecond, int burst) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getLimit().setInitial(concurrencyLimit);
+        properties.getLimit().setMin(concurrencyLimit);
+        properties.getLimit().setMax(concurrencyLimit);
+        properties.getRate().setPermitsPerSecond(permitsPerSecond);
+        properties.getRate().setBurst(burst);
+        return properties;
+    }
+}
@@ -0,0 +1,95 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.dto.CouponResponse;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.repository.CouponStockBucketRepository;
+import com.yuuki.demo.service.CouponQueryService;
+import com.yuuki.demo.service.CouponServiceSharded;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 분할 버킷 수에 따른 처리량 비교 (./gradlew benchmark)
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class CouponShardedBenchmarkTest {
+
+    private static final int QUANTITY = 10_000;
+    private static final int REQUEST_COUNT = 10_000;
+    private static final int THREAD_COUNT = 64;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponStockBucketRepository couponStockBucketRepository;
+
+    @Autowired
+    private CouponServiceSharded couponServiceSharded;
+
+    @Autowired
+    private CouponQueryService couponQueryService;
+
+    @AfterEach
+    void after() {
+        couponStockBucketRepository.deleteAllInBatch();
+        couponIssueRepository.deleteAllInBatch();
+        couponRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "버킷 {0}개")
+    @ValueSource(ints = {1, 2, 4, 8, 16})
+    @DisplayName("버킷 수별 처리량")
+    void 버킷수별_처리량(int bucketCount) throws InterruptedException {
+        Coupon coupon = Coupon.builder()
+                .name("재고 분할 벤치마크 쿠폰")
+                .totalQuantity(QUANTITY)
+                .build();
+        couponRepository.save(coupon);
+        couponServiceSharded.createBuckets(coupon.getId(), bucketCount);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch countDownLatch = new CountDownLatch(REQUEST_COUNT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            long userId = i;
+            executorService.execute(() -> {
+                try {
+                    couponServiceSharded.issueCoupon(coupon.getId(), userId);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        executorService.shutdown();
+
+        log.info("버킷 {}개 >>>> {}건 {}ms, {} req/s",
+                bucketCount, REQUEST_COUNT, elapsedMs, REQUEST_COUNT * 1000L / Math.max(elapsedMs, 1));
+
+        CouponResponse fresh = couponQueryService.getCouponFromDb(coupon.getId());
+        assertThat(fresh.getIssuedQuantity()).isEqualTo(QUANTITY);
+        assertThat(fresh.getRemainingQuantity()).isEqualTo(0);
+    }
+}
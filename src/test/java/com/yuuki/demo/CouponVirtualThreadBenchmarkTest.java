@@ -0,0 +1,133 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.domain.Coupon;
+import com.yuuki.demo.dto.CouponIssueResponse;
+import com.yuuki.demo.facade.CouponNamedLockFacade;
+import com.yuuki.demo.repository.CouponIssueRepository;
+import com.yuuki.demo.repository.CouponRepository;
+import com.yuuki.demo.service.CouponServiceOptimistic;
+import com.yuuki.demo.service.CouponServicePessimistic;
+import com.yuuki.demo.service.CouponServiceStripedLock;
+import com.yuuki.demo.service.CouponServiceSync;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 / 가상 스레드에서 전략별로 동시에 대기시킬 수 있는 요청 수 비교 (./gradlew benchmark)
+ *
+ * - platform: Tomcat 기본 최대 스레드 수(200)와 같은 크기의 스레드 풀
+ * - virtual: 요청마다 가상 스레드 (스레드 수 제한 없음, 커넥션 풀에서 대기)
+ * - 동시 처리 중 최대 요청 수(락/커넥션 대기 포함), 처리 시간, 실패 수를 기록
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class CouponVirtualThreadBenchmarkTest {
+
+    private static final int QUANTITY = 1_000;
+    private static final int REQUEST_COUNT = 2_000;
+    private static final int PLATFORM_THREAD_COUNT = 200;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponIssueRepository couponIssueRepository;
+
+    @Autowired
+    private CouponServiceSync couponServiceSync;
+
+    @Autowired
+    private CouponServicePessimistic couponServicePessimistic;
+
+    @Autowired
+    private CouponServiceOptimistic couponServiceOptimistic;
+
+    @Autowired
+    private CouponServiceStripedLock couponServiceStripedLock;
+
+    @Autowired
+    private CouponNamedLockFacade couponNamedLockFacade;
+
+    @AfterEach
+    void after() {
+        couponIssueRepository.deleteAllInBatch();
+        couponRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "{0} / {1}")
+    @CsvSource({
+            "sync, platform", "sync, virtual",
+            "striped-lock, platform", "striped-lock, virtual",
+            "pessimistic, platform", "pessimistic, virtual",
+            "optimistic, platform", "optimistic, virtual",
+            "named-lock, platform", "named-lock, virtual"
+    })
+    @DisplayName("전략별 플랫폼 스레드 / 가상 스레드 동시 대기 요청 수")
+    void 전략별_동시_대기_요청수(String strategyName, String threadType) throws InterruptedException {
+        BiFunction<Long, Long, CouponIssueResponse> strategy = strategies().get(strategyName);
+        Coupon coupon = Coupon.builder()
+                .name("가상 스레드 벤치마크 쿠폰")
+                .totalQuantity(QUANTITY)
+                .build();
+        couponRepository.save(coupon);
+
+        ExecutorService executorService = "virtual".equals(threadType)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREAD_COUNT);
+        CountDownLatch countDownLatch = new CountDownLatch(REQUEST_COUNT);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger errorCount = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            long userId = i;
+            executorService.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    strategy.apply(coupon.getId(), userId);
+                } catch (RuntimeException e) {
+                    errorCount.incrementAndGet();
+                } finally {
+                    inFlight.decrementAndGet();
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        executorService.shutdown();
+
+        log.info("{} / {} >>>> 최대 동시 요청 {}개, {}건 {}ms, {} req/s, 실패 {}건",
+                strategyName, threadType, maxInFlight.get(), REQUEST_COUNT, elapsedMs,
+                REQUEST_COUNT * 1000L / Math.max(elapsedMs, 1), errorCount.get());
+
+        assertThat(couponIssueRepository.count()).isLessThanOrEqualTo(QUANTITY);
+    }
+
+    private Map<String, BiFunction<Long, Long, CouponIssueResponse>> strategies() {
+        return Map.of(
+                "sync", couponServiceSync::issueCoupon,
+                "striped-lock", couponServiceStripedLock::issueCoupon,
+                "pessimistic", couponServicePessimistic::issueCoupon,
+                "optimistic", couponServiceOptimistic::issueCouponWithRetry,
+                "named-lock", couponNamedLockFacade::issueCoupon
+        );
+    }
+}
@@ -0,0 +1,76 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.engine.LongHashSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("추가 / 조회 / 삭제 (0, 음수 포함)")
+    void 추가_조회_삭제() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.add(0L)).isTrue();
+        assertThat(set.add(-1L)).isTrue();
+        assertThat(set.add(Long.MAX_VALUE)).isTrue();
+        assertThat(set.add(0L)).isFalse();
+        assertThat(set.add(-1L)).isFalse();
+        assertThat(set.size()).isEqualTo(3);
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.contains(Long.MIN_VALUE)).isFalse();
+
+        assertThat(set.remove(0L)).isTrue();
+        assertThat(set.remove(0L)).isFalse();
+        assertThat(set.remove(-1L)).isTrue();
+        assertThat(set.remove(42L)).isFalse();
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.contains(Long.MAX_VALUE)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("크기가 늘어나도 모든 원소 유지")
+    void 크기_증가() {
+        LongHashSet set = new LongHashSet(4);
+        for (long userId = 1; userId <= 100_000; userId++) {
+            assertThat(set.add(userId)).isTrue();
+        }
+
+        assertThat(set.size()).isEqualTo(100_000);
+        for (long userId = 1; userId <= 100_000; userId++) {
+            assertThat(set.contains(userId)).isTrue();
+        }
+        assertThat(set.contains(100_001L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("무작위 추가 / 삭제 결과가 HashSet 과 같음")
+    void HashSet_과_비교() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        // 좁은 범위의 값을 반복해서 추가/삭제하여 충돌 구간의 삭제(backward shift)까지 확인
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(5_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long value = -1_000; value < 4_000; value++) {
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+    }
+}
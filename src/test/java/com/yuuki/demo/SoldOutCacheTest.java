@@ -0,0 +1,39 @@
+package com.yuuki.demo;
+
+import com.yuuki.demo.cache.SoldOutCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SoldOutCacheTest {
+
+    @Test
+    @DisplayName("소진 표시 / 해제")
+    void 소진_표시_해제() {
+        SoldOutCache soldOutCache = new SoldOutCache(null, null, false);
+
+        soldOutCache.markSoldOut(1L, soldOutCache.epoch(1L));
+        assertThat(soldOutCache.isSoldOut(1L)).isTrue();
+        assertThat(soldOutCache.isSoldOut(2L)).isFalse();
+
+        soldOutCache.evict(1L);
+        assertThat(soldOutCache.isSoldOut(1L)).isFalse();
+
+        soldOutCache.markSoldOut(1L, soldOutCache.epoch(1L));
+        assertThat(soldOutCache.isSoldOut(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("수량이 늘어나기 전에 확인한 소진은 해제 뒤에 표시해도 무시")
+    void 해제_이후_늦은_소진_표시_무시() {
+        SoldOutCache soldOutCache = new SoldOutCache(null, null, false);
+
+        // 재고 확인 전 세대를 읽은 요청이 소진을 확인하는 사이 수량이 늘어나 해제됨
+        long epoch = soldOutCache.epoch(1L);
+        soldOutCache.evict(1L);
+        soldOutCache.markSoldOut(1L, epoch);
+
+        assertThat(soldOutCache.isSoldOut(1L)).isFalse();
+    }
+}